@@ -0,0 +1,97 @@
+package com.ats.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compares a JMH JSON result file with a checked-in baseline and exits with status 1 if
+ * any benchmark got slower than the baseline by more than the tolerance (default 15%).
+ * Scores are average times, so higher is worse. A slowdown only counts when it is also
+ * larger than the two runs' score errors (99.9% confidence half-widths) added together;
+ * anything smaller is noise the runs cannot tell apart, and is reported as such.
+ * Benchmarks missing from either file are listed but never fail the check.
+ * <p>
+ * {@code java -cp target/benchmarks.jar com.ats.benchmarks.BaselineCheck baselines/baseline.json jmh-result.json [0.15]}
+ */
+public final class BaselineCheck {
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineCheck <baseline.json> <result.json> [tolerance]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.15;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-75s %14s %14s %8s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score score = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-75s %14s %14.1f %8s%n", entry.getKey(), "-", score.value(), "new");
+                continue;
+            }
+            if (!before.unit().equals(score.unit())) {
+                System.out.printf("%-75s unit changed from %s to %s, not compared%n",
+                        entry.getKey(), before.unit(), score.unit());
+                continue;
+            }
+            double delta = score.value() - before.value();
+            double change = delta / before.value();
+            boolean withinError = delta <= before.error() + score.error();
+            boolean regressed = change > tolerance && !withinError;
+            String verdict = regressed ? "  REGRESSION" : change > tolerance ? "  within error" : "";
+            System.out.printf("%-75s %14.1f %14.1f %+7.1f%%%s%n", entry.getKey(), before.value(), score.value(),
+                    change * 100, verdict);
+            if (regressed) {
+                regressions.add(entry.getKey());
+            }
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                System.out.printf("%-75s not run%n", name);
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.printf("%n%d benchmark(s) slower than baseline by more than %.0f%% and their error: %s%n",
+                    regressions.size(), tolerance * 100, regressions);
+            System.exit(1);
+        }
+        System.out.printf("%nNo regressions beyond %.0f%%%n", tolerance * 100);
+    }
+
+    private record Score(double value, double error, String unit) {}
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(run.get("benchmark").asText()
+                    .replaceFirst("^com\\.ats\\.", ""));
+            JsonNode params = run.get("params");
+            if (params != null) {
+                List<String> keys = new ArrayList<>();
+                params.fieldNames().forEachRemaining(keys::add);
+                Collections.sort(keys);
+                for (String key : keys) {
+                    name.append(' ').append(key).append('=').append(params.get(key).asText());
+                }
+            }
+            JsonNode metric = run.get("primaryMetric");
+            // JMH writes "NaN" as the error of a single measurement iteration
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(name.toString(), new Score(metric.get("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.get("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
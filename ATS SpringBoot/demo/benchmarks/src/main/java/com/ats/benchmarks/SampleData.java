@@ -0,0 +1,88 @@
+package com.ats.benchmarks;
+
+import com.ats.entity.Candidate;
+import com.ats.entity.Company;
+import com.ats.entity.Job;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic entities, sized and worded like production search results, so
+ * benchmark runs are comparable with the checked-in baselines.
+ */
+public final class SampleData {
+
+    private static final String[] FIRST_NAMES = {"Anna", "Ben", "Chloe", "David", "Elena", "Farid", "Grace", "Hugo"};
+    private static final String[] LAST_NAMES = {"Schmidt", "Okafor", "Nguyen", "Martin", "Rossi", "Kowalski", "Silva"};
+    private static final String[] TITLES = {"Senior Java Engineer", "Backend Developer", "Data Engineer",
+            "Engineering Manager", "Frontend Developer", "DevOps Engineer", "QA Engineer"};
+    private static final String[] SKILLS = {"Java, Spring Boot, PostgreSQL", "Kotlin, Kafka, AWS",
+            "Python, Airflow, dbt", "TypeScript, React, GraphQL", "Go, Kubernetes, Terraform"};
+    private static final String[] LOCATIONS = {"Berlin", "London", "Amsterdam", "Remote", "Munich", "Lisbon"};
+    private static final String[] INDUSTRIES = {"Software", "Fintech", "Healthcare", "Logistics", "Retail"};
+
+    private SampleData() {
+    }
+
+    public static List<Candidate> candidates(int count) {
+        Random random = new Random(42);
+        List<Candidate> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Candidate candidate = new Candidate();
+            candidate.setId((long) i + 1);
+            candidate.setFirstName(pick(random, FIRST_NAMES));
+            candidate.setLastName(pick(random, LAST_NAMES));
+            candidate.setEmail("candidate" + i + "@example.com");
+            candidate.setPhone("+49 30 " + (1_000_000 + random.nextInt(9_000_000)));
+            candidate.setLocation(pick(random, LOCATIONS));
+            candidate.setCurrentJobTitle(pick(random, TITLES));
+            candidate.setExperienceYears(random.nextInt(20));
+            candidate.setSkills(pick(random, SKILLS));
+            candidates.add(candidate);
+        }
+        return candidates;
+    }
+
+    public static List<Company> companies(int count) {
+        Random random = new Random(43);
+        List<Company> companies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Company company = new Company();
+            company.setId((long) i + 1);
+            company.setName(pick(random, LAST_NAMES) + " " + pick(random, INDUSTRIES) + " GmbH");
+            company.setIndustry(pick(random, INDUSTRIES));
+            company.setLocation(pick(random, LOCATIONS));
+            company.setWebsite("https://company" + i + ".example.com");
+            company.setDescription("We build " + pick(random, INDUSTRIES).toLowerCase() + " products with "
+                    + pick(random, SKILLS) + ".");
+            companies.add(company);
+        }
+        return companies;
+    }
+
+    public static List<Job> jobs(int count) {
+        Random random = new Random(44);
+        List<Company> companies = companies(Math.max(1, count / 5));
+        List<Job> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Job job = new Job();
+            job.setId((long) i + 1);
+            job.setTitle(pick(random, TITLES));
+            job.setCompany(companies.get(random.nextInt(companies.size())));
+            job.setLocation(pick(random, LOCATIONS));
+            job.setJobType(pick(random, Job.JobType.values()));
+            job.setStatus(Job.JobStatus.OPEN);
+            job.setPriority(pick(random, Job.Priority.values()));
+            job.setDeadline(LocalDate.of(2026, 1, 1).plusDays(random.nextInt(365)));
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,74 @@
+package com.ats.dto;
+
+import com.ats.benchmarks.SampleData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of {@link ApiResponse} envelopes with an ObjectMapper configured like
+ * Spring Boot's: a single record, a page of 50 search-style maps, and an error.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class ApiResponseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Map<String, Object>> single;
+    private ApiResponse<List<Map<String, Object>>> page;
+    private ApiResponse<Object> error;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Map<String, Object> candidate = new LinkedHashMap<>();
+        candidate.put("id", 42L);
+        candidate.put("name", "Elena Rossi");
+        candidate.put("email", "elena.rossi@example.com");
+        candidate.put("experienceYears", 7);
+        candidate.put("skills", "Java, Spring Boot, PostgreSQL");
+        single = ApiResponse.success("Candidate found", candidate);
+
+        List<Map<String, Object>> rows = SampleData.jobs(50).stream().map(job -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", job.getId());
+            row.put("title", job.getTitle());
+            row.put("companyName", job.getCompany().getName());
+            row.put("location", job.getLocation());
+            row.put("jobType", job.getJobType());
+            row.put("deadline", job.getDeadline());
+            return row;
+        }).toList();
+        page = ApiResponse.success(rows);
+        error = ApiResponse.error("Validation failed", "Email is already registered");
+    }
+
+    @Benchmark
+    public byte[] serializeSingle() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeError() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(error);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ats.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification as done by {@link JwtUtils} on login and on every
+ * authenticated request. {@code parseClaimsCached} is the steady state for a returning
+ * token; {@code parseClaimsUncached} cycles through more tokens than the cache holds, so
+ * every call verifies the signature and parses the claims.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "benchmark-secret-benchmark-secret-benchmark-secret-0123456789".getBytes());
+    private static final int UNCACHED_TOKENS = 4096;
+
+    private JwtUtils jwtUtils;
+    private JwtUtils smallCacheJwtUtils;
+    private UserPrincipal principal;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 3_600_000, 50_000);
+        smallCacheJwtUtils = new JwtUtils(SECRET, 3_600_000, 16);
+        principal = new UserPrincipal(7L, "recruiter", "recruiter@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_RECRUITER")), 3);
+        token = jwtUtils.generateJwtToken(principal);
+        tokens = new String[UNCACHED_TOKENS];
+        for (int i = 0; i < UNCACHED_TOKENS; i++) {
+            tokens[i] = jwtUtils.generateJwtToken(new UserPrincipal((long) i, "user" + i, null, null,
+                    List.of(new SimpleGrantedAuthority("ROLE_RECRUITER")), 0));
+        }
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(principal);
+    }
+
+    @Benchmark
+    public Object parseClaimsCached() {
+        return jwtUtils.parseClaims(token);
+    }
+
+    @Benchmark
+    public Object parseClaimsUncached() {
+        next = (next + 1) % UNCACHED_TOKENS;
+        return smallCacheJwtUtils.parseClaims(tokens[next]);
+    }
+
+    @Benchmark
+    public Object parseClaimsAndPrincipal() {
+        return jwtUtils.getPrincipalFromClaims(jwtUtils.parseClaims(token));
+    }
+}
@@ -0,0 +1,46 @@
+package com.ats.service;
+
+import com.ats.benchmarks.SampleData;
+import com.ats.entity.Candidate;
+import com.ats.entity.Job;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-map mapping of {@code searchCandidates} and {@code searchJobs}; one operation
+ * maps a page of 100 results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class SearchMappingBenchmark {
+
+    private List<Candidate> candidates;
+    private List<Job> jobs;
+
+    @Setup
+    public void setUp() {
+        candidates = SampleData.candidates(100);
+        jobs = SampleData.jobs(100);
+    }
+
+    @Benchmark
+    public void mapCandidates(Blackhole blackhole) {
+        for (Candidate candidate : candidates) {
+            blackhole.consume(SearchService.toSearchResult(candidate));
+        }
+    }
+
+    @Benchmark
+    public void mapJobs(Blackhole blackhole) {
+        for (Job job : jobs) {
+            blackhole.consume(SearchService.toSearchResult(job));
+        }
+    }
+}
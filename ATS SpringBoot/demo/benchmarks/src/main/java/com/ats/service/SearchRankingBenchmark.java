@@ -0,0 +1,51 @@
+package com.ats.service;
+
+import com.ats.benchmarks.SampleData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relevance scoring behind {@code /api/search/ranked}, without the repository calls. One
+ * {@code calculateRelevanceScore} operation scores a full result set: 100 candidates,
+ * 100 companies and 100 jobs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class SearchRankingBenchmark {
+
+    private static final int RESULTS = 100;
+
+    @Param({"java", "senior engineer", "berlin"})
+    public String query;
+
+    private List<Map<String, Object>> results;
+
+    @Setup
+    public void setUp() {
+        results = new ArrayList<>();
+        SampleData.candidates(RESULTS).forEach(candidate -> results.add(SearchService.toSearchResult(candidate)));
+        SampleData.companies(RESULTS).forEach(company -> results.add(SearchService.toSearchResult(company)));
+        SampleData.jobs(RESULTS).forEach(job -> results.add(SearchService.toSearchResult(job)));
+    }
+
+    @Benchmark
+    public void calculateRelevanceScore(Blackhole blackhole) {
+        for (Map<String, Object> result : results) {
+            blackhole.consume(SearchService.calculateRelevanceScore(query, result));
+        }
+    }
+
+    @Benchmark
+    public double checkFieldMatch() {
+        return SearchService.checkFieldMatch(query, "Senior Java Engineer, Berlin", 3.0);
+    }
+}
@@ -0,0 +1,548 @@
+package com.ats.loadtest;
+
+import com.ats.entity.Application.ApplicationStatus;
+import com.ats.entity.ApplicationNote.NoteType;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Fills a PostgreSQL database created from {@code schema.sql} with synthetic users,
+ * companies, jobs, candidates, applications and notes, streamed in with {@code COPY}.
+ * <p>
+ * The data is skewed the way production data is: a few companies post most jobs, a few
+ * jobs attract most applications, recruiters differ in workload, and skills follow a long
+ * tail where the first handful appear on most candidates. Later pipeline stages carry more
+ * notes. The same {@code --seed}, {@code --as-of} and sizes always produce the same rows.
+ * <p>
+ * Every user gets the password {@value #PASSWORD}: {@code admin} is the only admin, the
+ * recruiters are {@code recruiter1..N}.
+ */
+public final class DataGenerator {
+
+    static final String PASSWORD = "password";
+
+    // BCrypt hash of PASSWORD, the same one schema.sql uses for its sample users
+    private static final String PASSWORD_HASH = "$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi";
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int DAY = 86_400;
+    private static final int PROGRESS_EVERY = 1_000_000;
+
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+    private static final int[] STATUS_WEIGHTS = {35, 20, 15, 5, 5, 20};
+    // Relative number of notes per application in each status
+    private static final double[] NOTE_WEIGHTS = {0.3, 1.0, 2.0, 2.5, 3.0, 1.0};
+
+    private static final NoteType[] NOTE_TYPES = NoteType.values();
+    private static final int[] NOTE_TYPE_WEIGHTS = {25, 25, 12, 30, 8};
+
+    private final Connection connection;
+    private final int companyCount;
+    private final int jobCount;
+    private final int candidateCount;
+    private final int applicationTarget;
+    private final int noteTarget;
+    private final int recruiterCount;
+    private final int historyDays;
+    private final LocalDateTime asOf;
+
+    // One stream per table, split up front so changing one table's size leaves the others alone
+    private final SplittableRandom userRandom;
+    private final SplittableRandom companyRandom;
+    private final SplittableRandom jobRandom;
+    private final SplittableRandom candidateRandom;
+    private final SplittableRandom applicationRandom;
+    private final SplittableRandom noteRandom;
+
+    private final Zipf skills = new Zipf(Vocabulary.SKILLS.length, 1.1);
+    private final Zipf titles = new Zipf(Vocabulary.TITLES.length, 0.9);
+    private final Zipf cities = new Zipf(Vocabulary.CITIES.length, 0.8);
+    private final Zipf recruiters;
+
+    private String[] companyNames;
+    // Recruiter user id by job id - 1
+    private int[] jobRecruiter;
+
+    // Filled by the applications pass and read by the notes pass, indexed by application id - 1
+    private int applicationCount;
+    private int[] applicationJob = new int[0];
+    private int[] applicationAge = new int[0];
+    private byte[] applicationStatus = new byte[0];
+    private double noteWeightSum;
+
+    DataGenerator(Connection connection, long seed, int companyCount, int jobCount, int candidateCount,
+                  int applicationTarget, int noteTarget, int recruiterCount, int historyDays, LocalDate asOf) {
+        this.connection = connection;
+        this.companyCount = companyCount;
+        this.jobCount = jobCount;
+        this.candidateCount = candidateCount;
+        this.applicationTarget = applicationTarget;
+        this.noteTarget = noteTarget;
+        this.recruiterCount = recruiterCount;
+        this.historyDays = historyDays;
+        this.asOf = asOf.atStartOfDay();
+
+        SplittableRandom root = new SplittableRandom(seed);
+        userRandom = root.split();
+        companyRandom = root.split();
+        jobRandom = root.split();
+        candidateRandom = root.split();
+        applicationRandom = root.split();
+        noteRandom = root.split();
+        recruiters = new Zipf(recruiterCount, 0.7);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        String url = options.get("url", "jdbc:postgresql://localhost:5434/ats_loadtest_db");
+        String user = options.get("user", "postgres");
+        String password = options.get("password", System.getenv().getOrDefault("PGPASSWORD", ""));
+        double scale = options.getDouble("scale", 1.0);
+        long seed = options.getLong("seed", 42);
+        int companies = scaled(options.getInt("companies", 2_000), scale);
+        int jobs = scaled(options.getInt("jobs", 20_000), scale);
+        int candidates = scaled(options.getInt("candidates", 1_000_000), scale);
+        int applications = scaled(options.getInt("applications", 3_000_000), scale);
+        int notes = scaled(options.getInt("notes", 6_000_000), scale);
+        int recruiters = Math.max(1, options.getInt("recruiters", 100));
+        int historyDays = options.getInt("history-days", 730);
+        LocalDate asOf = LocalDate.parse(options.get("as-of", LocalDate.now(ZoneOffset.UTC).toString()));
+        boolean reset = options.getFlag("reset");
+        options.rejectUnknown();
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            new DataGenerator(connection, seed, companies, jobs, candidates, applications, notes, recruiters,
+                    historyDays, asOf).generate(reset);
+        }
+    }
+
+    private static int scaled(int count, double scale) {
+        return Math.max(1, (int) Math.round(count * scale));
+    }
+
+    void generate(boolean reset) throws SQLException, IOException {
+        long start = System.nanoTime();
+        prepare(reset);
+        createNotePartitions();
+
+        copy("users", "id, username, email, password, first_name, last_name, role, token_version, created_at, updated_at",
+                this::writeUsers);
+        copy("companies", "id, name, description, industry, location, website, phone, created_at, updated_at",
+                this::writeCompanies);
+        copy("jobs", "id, title, description, requirements, location, job_type, status, priority, min_salary, "
+                + "max_salary, deadline, company_id, assigned_recruiter_id, version, created_at, updated_at",
+                this::writeJobs);
+        copy("candidates", "id, first_name, last_name, email, phone, location, linkedin_url, skills, "
+                + "experience_years, current_job_title, current_company, summary, resume_url, created_at, updated_at",
+                this::writeCandidates);
+        copy("applications", "id, candidate_id, job_id, status, rating, applied_at, last_contact_date, "
+                + "follow_up_date, version, created_at, updated_at",
+                this::writeApplications);
+        copy("application_notes", "id, application_id, created_by_id, content, note_type, scheduled_follow_up, "
+                + "version, created_at, updated_at",
+                this::writeNotes);
+
+        finish();
+        System.out.printf("Done in %ds%n", (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    private void prepare(boolean reset) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (reset) {
+                statement.execute("TRUNCATE users, companies, candidates, jobs, applications, application_notes, "
+                        + "application_note_archives, application_timeline, refresh_tokens, outbox_events "
+                        + "RESTART IDENTITY CASCADE");
+            } else {
+                try (ResultSet rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM users) "
+                        + "OR EXISTS (SELECT 1 FROM companies) OR EXISTS (SELECT 1 FROM candidates)")) {
+                    rs.next();
+                    if (rs.getBoolean(1)) {
+                        throw new IllegalStateException("Database already has data (schema.sql seeds users and "
+                                + "companies); pass --reset to truncate the application tables first");
+                    }
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * Monthly note partitions over the whole history, named like the ones
+     * {@code NoteArchiveService} maintains, so notes do not all land in the default partition.
+     */
+    private void createNotePartitions() throws SQLException {
+        LocalDate month = asOf.toLocalDate().minusDays(historyDays).withDayOfMonth(1);
+        LocalDate last = asOf.toLocalDate().plusMonths(3).withDayOfMonth(1);
+        try (Statement statement = connection.createStatement()) {
+            for (; !month.isAfter(last); month = month.plusMonths(1)) {
+                String partition = String.format("application_notes_p%d_%02d", month.getYear(), month.getMonthValue());
+                statement.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF application_notes"
+                        + " FOR VALUES FROM ('" + month + "') TO ('" + month.plusMonths(1) + "')");
+            }
+        }
+        connection.commit();
+    }
+
+    private long writeUsers(Row row) throws IOException {
+        LocalDateTime created = asOf.minusDays(historyDays);
+        row.add(1).add("admin").add("admin@ats.com").add(PASSWORD_HASH).add("Admin").add("User").add("ADMIN")
+                .add(0).add(created).add(created).end();
+        for (int i = 1; i <= recruiterCount; i++) {
+            row.add(i + 1).add("recruiter" + i).add("recruiter" + i + "@ats.com").add(PASSWORD_HASH)
+                    .add(Vocabulary.pick(Vocabulary.FIRST_NAMES, userRandom))
+                    .add(Vocabulary.pick(Vocabulary.LAST_NAMES, userRandom))
+                    .add("RECRUITER").add(0).add(created).add(created).end();
+        }
+        return recruiterCount + 1;
+    }
+
+    private long writeCompanies(Row row) throws IOException {
+        companyNames = new String[companyCount];
+        for (int id = 1; id <= companyCount; id++) {
+            String name = Vocabulary.pick(Vocabulary.COMPANY_WORDS, companyRandom) + " "
+                    + Vocabulary.pick(Vocabulary.COMPANY_WORDS, companyRandom) + " "
+                    + Vocabulary.pick(Vocabulary.COMPANY_SUFFIXES, companyRandom);
+            companyNames[id - 1] = name;
+            String industry = Vocabulary.pick(Vocabulary.INDUSTRIES, companyRandom);
+            String city = Vocabulary.CITIES[cities.sample(companyRandom)];
+            LocalDateTime created = ago(companyRandom.nextInt(historyDays * DAY));
+            row.add(id).add(name).add(industry + " company based in " + city).add(industry).add(city)
+                    .add("https://" + name.toLowerCase(Locale.ROOT).replace(" ", "") + id + ".example.com")
+                    .add(phone(companyRandom)).add(created).add(created).end();
+        }
+        return companyCount;
+    }
+
+    private long writeJobs(Row row) throws IOException {
+        jobRecruiter = new int[jobCount];
+        // Big employers first: low company ids get most of the jobs
+        Zipf companies = new Zipf(companyCount, 1.0);
+        for (int id = 1; id <= jobCount; id++) {
+            String title = Vocabulary.pick(Vocabulary.SENIORITY, jobRandom) + Vocabulary.TITLES[titles.sample(jobRandom)];
+            List<String> jobSkills = sampleSkills(jobRandom, 3 + jobRandom.nextInt(4));
+            int minSalary = 50_000 + jobRandom.nextInt(100) * 1_000;
+            LocalDate deadline = jobRandom.nextInt(5) == 0 ? null
+                    : asOf.toLocalDate().plusDays(jobRandom.nextInt(-30, 91));
+            int recruiter = recruiters.sample(jobRandom) + 2;
+            jobRecruiter[id - 1] = recruiter;
+            LocalDateTime created = ago(jobRandom.nextInt(historyDays * DAY));
+
+            row.add(id).add(title)
+                    .add("We are looking for a " + title + " to join our team. You will work with "
+                            + String.join(", ", jobSkills) + " on products used by millions of people.")
+                    .add("Required: " + String.join(", ", jobSkills))
+                    .add(Vocabulary.CITIES[cities.sample(jobRandom)])
+                    .add(weighted(jobRandom, new String[]{"FULL_TIME", "CONTRACT", "PART_TIME", "INTERNSHIP"},
+                            new int[]{75, 15, 6, 4}))
+                    .add(weighted(jobRandom, new String[]{"OPEN", "ON_HOLD", "FILLED", "CANCELLED"},
+                            new int[]{55, 10, 25, 10}))
+                    .add(weighted(jobRandom, new String[]{"LOW", "MEDIUM", "HIGH", "URGENT"},
+                            new int[]{20, 50, 22, 8}))
+                    .add(minSalary + ".00").add(minSalary + 10_000 + jobRandom.nextInt(50) * 1_000 + ".00")
+                    .add(deadline).add(companies.sample(jobRandom) + 1).add(recruiter).add(0)
+                    .add(created).add(created).end();
+        }
+        return jobCount;
+    }
+
+    private long writeCandidates(Row row) throws IOException {
+        for (int id = 1; id <= candidateCount; id++) {
+            String first = Vocabulary.pick(Vocabulary.FIRST_NAMES, candidateRandom);
+            String last = Vocabulary.pick(Vocabulary.LAST_NAMES, candidateRandom);
+            List<String> candidateSkills = sampleSkills(candidateRandom, 2 + candidateRandom.nextInt(7));
+            int experience = (int) Math.min(35, -Math.log(1 - candidateRandom.nextDouble()) * 6);
+            String seniority = experience >= 12 ? "Principal " : experience >= 7 ? "Senior "
+                    : experience < 2 ? "Junior " : "";
+            String title = seniority + Vocabulary.TITLES[titles.sample(candidateRandom)];
+            LocalDateTime created = ago(candidateRandom.nextInt(historyDays * DAY));
+
+            row.add(id).add(first).add(last)
+                    .add(first.toLowerCase(Locale.ROOT) + "." + last.toLowerCase(Locale.ROOT) + "." + id + "@example.com")
+                    .add(phone(candidateRandom))
+                    .add(Vocabulary.CITIES[cities.sample(candidateRandom)])
+                    .add(candidateRandom.nextInt(3) == 0 ? null
+                            : "https://www.linkedin.com/in/" + first.toLowerCase(Locale.ROOT) + "-"
+                            + last.toLowerCase(Locale.ROOT) + "-" + id)
+                    .add(String.join(", ", candidateSkills))
+                    .add(experience).add(title)
+                    .add(companyNames[candidateRandom.nextInt(companyCount)])
+                    .add(title + " with " + experience + " years of experience in " + candidateSkills.get(0)
+                            + " and " + candidateSkills.get(candidateSkills.size() - 1) + ".")
+                    .add(candidateRandom.nextBoolean() ? "https://files.example.com/resumes/" + id + ".pdf" : null)
+                    .add(created).add(created).end();
+            progress("candidates", id);
+        }
+        return candidateCount;
+    }
+
+    private long writeApplications(Row row) throws IOException {
+        // Popularity rank to job id, shuffled so the hot jobs are spread over companies
+        int[] jobByRank = new int[jobCount];
+        for (int i = 0; i < jobCount; i++) {
+            jobByRank[i] = i + 1;
+        }
+        for (int i = jobCount - 1; i > 0; i--) {
+            int j = applicationRandom.nextInt(i + 1);
+            int swap = jobByRank[i];
+            jobByRank[i] = jobByRank[j];
+            jobByRank[j] = swap;
+        }
+        Zipf jobs = new Zipf(jobCount, 0.8);
+        double perCandidate = (double) applicationTarget / candidateCount;
+        int maxPerCandidate = Math.min(50, jobCount);
+        int[] chosen = new int[maxPerCandidate];
+        int maxAge = historyDays * DAY;
+        ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, applicationTarget * 1.1));
+
+        int id = 0;
+        for (int candidate = 1; candidate <= candidateCount; candidate++) {
+            int count = Math.min(maxPerCandidate, geometric(applicationRandom, perCandidate));
+            int picked = 0;
+            for (int attempt = 0; picked < count && attempt < count * 3; attempt++) {
+                int job = jobByRank[jobs.sample(applicationRandom)];
+                if (!contains(chosen, picked, job)) {
+                    chosen[picked++] = job;
+                }
+            }
+            for (int i = 0; i < picked; i++) {
+                // Squaring skews toward recent applications
+                double u = applicationRandom.nextDouble();
+                int age = (int) (u * u * maxAge);
+                ApplicationStatus status = age < 3 * DAY && applicationRandom.nextInt(5) > 0
+                        ? ApplicationStatus.APPLIED
+                        : STATUSES[weightedIndex(applicationRandom, STATUS_WEIGHTS)];
+                LocalDateTime applied = ago(age);
+                LocalDateTime lastContact = status == ApplicationStatus.APPLIED ? null
+                        : ago((int) (age * applicationRandom.nextDouble()));
+                Integer rating = status == ApplicationStatus.APPLIED ? null
+                        : status == ApplicationStatus.OFFER || status == ApplicationStatus.HIRED
+                        ? 4 + applicationRandom.nextInt(2) : 1 + applicationRandom.nextInt(5);
+                boolean active = status == ApplicationStatus.SCREENING || status == ApplicationStatus.INTERVIEWING
+                        || status == ApplicationStatus.OFFER;
+                LocalDateTime followUp = active && applicationRandom.nextInt(10) < 4
+                        ? asOf.plusDays(applicationRandom.nextInt(-7, 15)).plusHours(9) : null;
+
+                id++;
+                ensureCapacity(id);
+                applicationJob[id - 1] = chosen[i];
+                applicationAge[id - 1] = age;
+                applicationStatus[id - 1] = (byte) status.ordinal();
+                noteWeightSum += NOTE_WEIGHTS[status.ordinal()];
+
+                row.add(id).add(candidate).add(chosen[i]).add(status.name()).add(rating).add(applied)
+                        .add(lastContact).add(followUp).add(0).add(applied)
+                        .add(lastContact != null ? lastContact : applied).end();
+                progress("applications", id);
+            }
+        }
+        applicationCount = id;
+        return id;
+    }
+
+    private long writeNotes(Row row) throws IOException {
+        double notesPerWeight = noteWeightSum > 0 ? noteTarget / noteWeightSum : 0;
+        long id = 0;
+        for (int application = 1; application <= applicationCount; application++) {
+            int status = applicationStatus[application - 1];
+            int count = geometric(noteRandom, NOTE_WEIGHTS[status] * notesPerWeight);
+            int age = applicationAge[application - 1];
+            for (int i = 0; i < count; i++) {
+                NoteType type = NOTE_TYPES[weightedIndex(noteRandom, NOTE_TYPE_WEIGHTS)];
+                if (type == NoteType.INTERVIEW && status < ApplicationStatus.INTERVIEWING.ordinal()) {
+                    type = NoteType.CALL;
+                }
+                // Most notes come from the job's recruiter, the rest from whoever picked it up
+                int author = noteRandom.nextInt(10) < 7 ? jobRecruiter[applicationJob[application - 1] - 1]
+                        : recruiters.sample(noteRandom) + 2;
+                LocalDateTime created = ago((int) (age * noteRandom.nextDouble()));
+                LocalDateTime followUp = type != NoteType.EMAIL && type != NoteType.GENERAL && noteRandom.nextInt(10) < 3
+                        ? created.plusDays(1 + noteRandom.nextInt(14)) : null;
+
+                id++;
+                row.add(id).add(application).add(author).add(noteContent(type)).add(type.name()).add(followUp)
+                        .add(0).add(created).add(created).end();
+                progress("notes", id);
+            }
+        }
+        return id;
+    }
+
+    private String noteContent(NoteType type) {
+        StringBuilder content = new StringBuilder(switch (type) {
+            case CALL -> "Phone call: ";
+            case EMAIL -> "Email: ";
+            case INTERVIEW -> "Interview feedback: ";
+            case FOLLOW_UP -> "Follow-up: ";
+            case GENERAL -> "";
+        });
+        int sentences = 1 + noteRandom.nextInt(3);
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                content.append(' ');
+            }
+            content.append(String.format(Vocabulary.pick(Vocabulary.NOTE_PHRASES, noteRandom),
+                    Vocabulary.SKILLS[skills.sample(noteRandom)]));
+        }
+        return content.toString();
+    }
+
+    private void finish() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("users", "companies", "jobs", "candidates", "applications", "application_notes")) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "GREATEST((SELECT MAX(id) FROM " + table + "), 1))");
+            }
+            connection.commit();
+            long start = System.nanoTime();
+            statement.execute("ANALYZE");
+            connection.commit();
+            System.out.printf("ANALYZE: %ds%n", (System.nanoTime() - start) / 1_000_000_000L);
+        }
+    }
+
+    private List<String> sampleSkills(SplittableRandom random, int count) {
+        LinkedHashSet<String> picked = new LinkedHashSet<>();
+        for (int attempt = 0; picked.size() < count && attempt < count * 4; attempt++) {
+            picked.add(Vocabulary.SKILLS[skills.sample(random)]);
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private LocalDateTime ago(int seconds) {
+        return asOf.minusSeconds(seconds);
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > applicationJob.length) {
+            int capacity = Math.max(size, applicationJob.length + (applicationJob.length >> 1));
+            applicationJob = Arrays.copyOf(applicationJob, capacity);
+            applicationAge = Arrays.copyOf(applicationAge, capacity);
+            applicationStatus = Arrays.copyOf(applicationStatus, capacity);
+        }
+    }
+
+    private static int geometric(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double p = 1 / (1 + mean);
+        return (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    private static int weightedIndex(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int r = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            r -= weights[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static String weighted(SplittableRandom random, String[] values, int[] weights) {
+        return values[weightedIndex(random, weights)];
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String phone(SplittableRandom random) {
+        return String.format("555-%03d-%04d", random.nextInt(1000), random.nextInt(10_000));
+    }
+
+    private static void progress(String what, long count) {
+        if (count % PROGRESS_EVERY == 0) {
+            System.out.printf("  %s: %,d%n", what, count);
+        }
+    }
+
+    private interface RowSource {
+        long write(Row row) throws IOException;
+    }
+
+    private void copy(String table, String columns, RowSource rows) throws SQLException, IOException {
+        long start = System.nanoTime();
+        long count;
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pgConnection, "COPY " + table + " (" + columns + ") FROM STDIN"),
+                StandardCharsets.UTF_8), 1 << 16)) {
+            count = rows.write(new Row(out));
+        }
+        connection.commit();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-18s %,12d rows in %6.1fs (%,.0f rows/s)%n", table, count, seconds, count / seconds);
+    }
+
+    /**
+     * One line of {@code COPY} text format: tab-separated, {@code \N} for null.
+     */
+    private static final class Row {
+
+        private final Writer out;
+        private boolean first = true;
+
+        Row(Writer out) {
+            this.out = out;
+        }
+
+        Row add(Object value) throws IOException {
+            if (!first) {
+                out.write('\t');
+            }
+            first = false;
+            if (value == null) {
+                out.write("\\N");
+            } else if (value instanceof String text) {
+                writeEscaped(text);
+            } else if (value instanceof LocalDateTime timestamp) {
+                out.write(TIMESTAMP.format(timestamp));
+            } else {
+                out.write(value.toString());
+            }
+            return this;
+        }
+
+        void end() throws IOException {
+            out.write('\n');
+            first = true;
+        }
+
+        private void writeEscaped(String text) throws IOException {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> out.write("\\\\");
+                    case '\t' -> out.write("\\t");
+                    case '\n' -> out.write("\\n");
+                    case '\r' -> out.write("\\r");
+                    default -> out.write(c);
+                }
+            }
+        }
+    }
+}
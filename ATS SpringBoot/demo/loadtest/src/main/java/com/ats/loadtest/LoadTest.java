@@ -0,0 +1,39 @@
+package com.ats.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of {@code loadtest.jar}:
+ * <pre>
+ * java -jar target/loadtest.jar generate [options]   populate a database, see {@link DataGenerator}
+ * java -jar target/loadtest.jar run [options]        drive a running backend, see {@link WorkloadRunner}
+ * java -jar target/loadtest.jar compare a.json b.json  compare two run reports, see {@link RunReport}
+ * </pre>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            System.exit(2);
+        }
+        String[] rest = Arrays.copyOfRange(args, 1, args.length);
+        switch (args[0]) {
+            case "generate" -> DataGenerator.main(rest);
+            case "run" -> WorkloadRunner.main(rest);
+            case "compare" -> RunReport.main(rest);
+            default -> {
+                usage();
+                System.exit(2);
+            }
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: java -jar loadtest.jar <generate|run|compare> [options]");
+        System.err.println("See loadtest/README.md for the options of each command.");
+    }
+}
@@ -0,0 +1,98 @@
+package com.ats.loadtest;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * {@code --name value} command-line options. Anything not starting with {@code --} is a
+ * positional argument. Unknown names are rejected so a typo does not silently fall back to
+ * a default.
+ */
+final class Options {
+
+    private final Map<String, String> values = new HashMap<>();
+    private final List<String> positional = new ArrayList<>();
+    private final Set<String> used = new HashSet<>();
+
+    private Options() {
+    }
+
+    static Options parse(String[] args) {
+        Options options = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                options.positional.add(arg);
+                continue;
+            }
+            String name = arg.substring(2);
+            int eq = name.indexOf('=');
+            if (eq >= 0) {
+                options.values.put(name.substring(0, eq), name.substring(eq + 1));
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.values.put(name, args[++i]);
+            } else {
+                options.values.put(name, "true");
+            }
+        }
+        return options;
+    }
+
+    String get(String name, String defaultValue) {
+        used.add(name);
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        String value = get(name, null);
+        return value != null ? Integer.parseInt(value.replace("_", "")) : defaultValue;
+    }
+
+    long getLong(String name, long defaultValue) {
+        String value = get(name, null);
+        return value != null ? Long.parseLong(value.replace("_", "")) : defaultValue;
+    }
+
+    double getDouble(String name, double defaultValue) {
+        String value = get(name, null);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    boolean getFlag(String name) {
+        return Boolean.parseBoolean(get(name, "false"));
+    }
+
+    /**
+     * Durations as {@code 500ms}, {@code 30s}, {@code 5m} or {@code 1h}; a bare number is seconds.
+     */
+    Duration getDuration(String name, Duration defaultValue) {
+        String value = get(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.replaceAll("[smh]$", ""));
+        return switch (value.charAt(value.length() - 1)) {
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> Duration.ofSeconds(amount);
+        };
+    }
+
+    List<String> positional() {
+        return positional;
+    }
+
+    /**
+     * Fails on options that no {@code get} call asked for; call after reading all options.
+     */
+    void rejectUnknown() {
+        Set<String> unknown = new TreeSet<>(values.keySet());
+        unknown.removeAll(used);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): --" + String.join(", --", unknown));
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.ats.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint results of a workload run: request and error counts, HTTP status breakdown
+ * and an HdrHistogram of response times, printed as a table and written as JSON.
+ * <p>
+ * Its {@code main} compares two such JSON files side by side, e.g. the same workload against
+ * the backend with {@code VIRTUAL_THREADS_ENABLED=true} and {@code false}:
+ * {@code java -jar target/loadtest.jar compare virtual.json platform.json}
+ */
+final class RunReport {
+
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final String label;
+    private final Map<String, Object> settings;
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final Instant startedAt = Instant.now();
+    private long measuredNanos;
+
+    RunReport(String label, Map<String, Object> settings, Collection<String> endpointNames) {
+        this.label = label;
+        this.settings = settings;
+        for (String name : endpointNames) {
+            endpoints.put(name, new Endpoint());
+        }
+    }
+
+    boolean hasEndpoint(String endpoint) {
+        return endpoints.containsKey(endpoint);
+    }
+
+    void record(String endpoint, int status, long nanos) {
+        endpoints.get(endpoint).record(status, nanos);
+    }
+
+    void setMeasuredNanos(long measuredNanos) {
+        this.measuredNanos = measuredNanos;
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(e -> e.latency.getTotalCount()).sum();
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(e -> e.errors.sum()).sum();
+    }
+
+    void print() {
+        double seconds = measuredNanos / 1e9;
+        System.out.printf("%n%s: %.0fs measured%n", label, seconds);
+        System.out.printf("%-22s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            Histogram latency = endpoint.latency.copy();
+            total.add(latency);
+            totalErrors += endpoint.errors.sum();
+            printLine(entry.getKey(), latency, endpoint.errors.sum(), seconds);
+        }
+        printLine("TOTAL", total, totalErrors, seconds);
+
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            if (entry.getValue().errors.sum() > 0) {
+                System.out.printf("%s statuses: %s%n", entry.getKey(), entry.getValue().statusCounts());
+            }
+        }
+    }
+
+    private static void printLine(String name, Histogram latency, long errors, double seconds) {
+        System.out.printf("%-22s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, latency.getTotalCount(), errors,
+                seconds > 0 ? latency.getTotalCount() / seconds : 0,
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()));
+    }
+
+    void write(File file) throws IOException {
+        double seconds = measuredNanos / 1e9;
+        List<Map<String, Object>> endpointResults = new ArrayList<>();
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("endpoint", entry.getKey());
+            result.putAll(entry.getValue().toMap(seconds));
+            endpointResults.add(result);
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("label", label);
+        json.put("startedAt", startedAt.toString());
+        json.put("measuredSeconds", seconds);
+        json.put("settings", settings);
+        json.put("endpoints", endpointResults);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, json);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Endpoint {
+
+        // Microseconds, up to an hour at three significant digits
+        private final Histogram latency = new ConcurrentHistogram(TimeUnit.HOURS.toMicros(1), 3);
+        private final LongAdder errors = new LongAdder();
+        private final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(int status, long nanos) {
+            latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), latency.getHighestTrackableValue()));
+            statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+            if (status < 200 || status >= 400) {
+                errors.increment();
+            }
+        }
+
+        Map<String, Long> statusCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            // Status 0 stands for a request that failed without a response
+            statuses.forEach((status, count) -> counts.put(status == 0 ? "io-error" : status.toString(), count.sum()));
+            return counts;
+        }
+
+        Map<String, Object> toMap(double seconds) {
+            Histogram snapshot = latency.copy();
+            Map<String, Object> latencyMs = new LinkedHashMap<>();
+            latencyMs.put("mean", snapshot.getMean() / 1000.0);
+            for (double percentile : PERCENTILES) {
+                latencyMs.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile)
+                        : String.valueOf(percentile)), millis(snapshot.getValueAtPercentile(percentile)));
+            }
+            latencyMs.put("max", millis(snapshot.getMaxValue()));
+
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("requests", snapshot.getTotalCount());
+            map.put("errors", errors.sum());
+            map.put("throughput", seconds > 0 ? snapshot.getTotalCount() / seconds : 0);
+            map.put("statuses", statusCounts());
+            map.put("latencyMs", latencyMs);
+            return map;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: compare <baseline-report.json> <other-report.json>");
+            System.exit(2);
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode first = mapper.readTree(new File(args[0]));
+        JsonNode second = mapper.readTree(new File(args[1]));
+        Map<String, JsonNode> a = byEndpoint(first);
+        Map<String, JsonNode> b = byEndpoint(second);
+
+        System.out.printf("A = %s, B = %s%n", first.path("label").asText(args[0]), second.path("label").asText(args[1]));
+        System.out.printf("%-22s %9s %9s %8s %9s %9s %9s %9s %8s %7s %7s%n", "Endpoint", "A req/s", "B req/s", "Change",
+                "A p50", "B p50", "A p99", "B p99", "Change", "A err", "B err");
+        Set<String> names = new LinkedHashSet<>(a.keySet());
+        names.addAll(b.keySet());
+        for (String name : names) {
+            JsonNode x = a.get(name);
+            JsonNode y = b.get(name);
+            if (x == null || y == null) {
+                System.out.printf("%-22s only in %s%n", name, x == null ? "B" : "A");
+                continue;
+            }
+            double rpsA = x.path("throughput").asDouble();
+            double rpsB = y.path("throughput").asDouble();
+            double p99A = x.path("latencyMs").path("p99").asDouble();
+            double p99B = y.path("latencyMs").path("p99").asDouble();
+            System.out.printf("%-22s %9.1f %9.1f %+7.1f%% %9.1f %9.1f %9.1f %9.1f %+7.1f%% %7d %7d%n", name,
+                    rpsA, rpsB, change(rpsA, rpsB),
+                    x.path("latencyMs").path("p50").asDouble(), y.path("latencyMs").path("p50").asDouble(),
+                    p99A, p99B, change(p99A, p99B),
+                    x.path("errors").asLong(), y.path("errors").asLong());
+        }
+    }
+
+    private static Map<String, JsonNode> byEndpoint(JsonNode report) {
+        Map<String, JsonNode> endpoints = new LinkedHashMap<>();
+        for (JsonNode endpoint : report.path("endpoints")) {
+            endpoints.put(endpoint.path("endpoint").asText(), endpoint);
+        }
+        return endpoints;
+    }
+
+    private static double change(double from, double to) {
+        return from > 0 ? (to - from) / from * 100 : 0;
+    }
+}
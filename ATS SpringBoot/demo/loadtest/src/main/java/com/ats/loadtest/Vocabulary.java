@@ -0,0 +1,91 @@
+package com.ats.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Word lists shared by the data generator and the workload runner, so the runner searches
+ * for terms the data actually contains. {@link #SKILLS} and {@link #TITLES} are ordered from
+ * most to least common; both are sampled through {@link Zipf}, which makes the first few
+ * entries match a large share of rows and the tail match very few.
+ */
+final class Vocabulary {
+
+    static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Priya", "Mark", "Sandra", "Wei", "Ashley",
+            "Steven", "Kimberly", "Paul", "Emily", "Andrew", "Donna", "Joshua", "Michelle", "Kenji", "Carol",
+            "Kevin", "Amanda", "Brian", "Melissa", "Ahmed", "Deborah", "Carlos", "Stephanie", "Olga", "Fatima",
+            "Luis", "Ana", "Mohammed", "Yuki", "Ivan", "Chloe", "Arjun", "Sofia", "Mateo", "Aisha"
+    };
+
+    static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+            "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+            "Patel", "Kim", "Chen", "Singh", "Kowalski", "Muller", "Rossi", "Tanaka", "Ivanova", "Okafor"
+    };
+
+    static final String[] CITIES = {
+            "San Francisco, CA", "New York, NY", "Austin, TX", "Seattle, WA", "Boston, MA", "Chicago, IL",
+            "Los Angeles, CA", "Denver, CO", "Atlanta, GA", "Remote", "Portland, OR", "Raleigh, NC",
+            "San Diego, CA", "Miami, FL", "Minneapolis, MN", "Dallas, TX", "Phoenix, AZ", "Pittsburgh, PA",
+            "Salt Lake City, UT", "Nashville, TN", "Columbus, OH", "Detroit, MI", "Philadelphia, PA", "Madison, WI"
+    };
+
+    static final String[] INDUSTRIES = {
+            "Technology", "Software", "Finance", "Healthcare", "Retail", "Manufacturing", "Education",
+            "Consulting", "Media", "Logistics", "Energy", "Research", "Insurance", "Telecommunications"
+    };
+
+    static final String[] COMPANY_WORDS = {
+            "Tech", "Data", "Cloud", "Quantum", "Blue", "North", "Bright", "Apex", "Nova", "Summit",
+            "Vertex", "Pioneer", "Silver", "Atlas", "Harbor", "Crest", "Fusion", "Orbit", "Prime", "Cedar"
+    };
+
+    static final String[] COMPANY_SUFFIXES = {
+            "Corp", "Labs", "Solutions", "Systems", "Inc", "Group", "Partners", "Works", "Dynamics", "Networks"
+    };
+
+    static final String[] SKILLS = {
+            "Java", "Python", "SQL", "JavaScript", "AWS", "Git", "Docker", "React", "Spring Boot", "Linux",
+            "TypeScript", "Kubernetes", "PostgreSQL", "REST", "Agile", "Node.js", "C#", "Azure", "CI/CD", "Microservices",
+            "HTML", "CSS", "Go", "Terraform", "MongoDB", "Angular", "GCP", "Kafka", "Redis", "C++",
+            "Machine Learning", "Pandas", "Spark", "GraphQL", "Vue", "Kotlin", "Scala", "Hibernate", "Jenkins", "Ansible",
+            "Elasticsearch", "TensorFlow", "PyTorch", "Rust", "Swift", "Android", "iOS", "Figma", "Tableau", "Power BI",
+            "Airflow", "Snowflake", "dbt", "Hadoop", "RabbitMQ", "gRPC", "OAuth", "Selenium", "Cypress", "JUnit",
+            "Flutter", "Django", "Flask", "FastAPI", "Ruby", "Rails", "PHP", "Laravel", "Perl", "Bash",
+            "Prometheus", "Grafana", "Datadog", "Splunk", "Helm", "Istio", "Envoy", "Nginx", "Cassandra", "DynamoDB",
+            "BigQuery", "Redshift", "Looker", "SAS", "R", "MATLAB", "Julia", "Haskell", "Elixir", "Erlang",
+            "Clojure", "F#", "OCaml", "COBOL", "Fortran", "Assembly", "Verilog", "VHDL", "FPGA", "Embedded C",
+            "Solidity", "WebAssembly", "Three.js", "Unity", "Unreal Engine", "OpenGL", "Vulkan", "CUDA", "Ray", "Dask",
+            "Flink", "Beam", "Pulsar", "NATS", "ZeroMQ", "CockroachDB", "TimescaleDB", "ClickHouse", "Neo4j", "ArangoDB"
+    };
+
+    static final String[] TITLES = {
+            "Software Engineer", "Backend Engineer", "Full Stack Developer", "Frontend Developer", "Data Engineer",
+            "DevOps Engineer", "Data Scientist", "QA Engineer", "Product Manager", "Site Reliability Engineer",
+            "Mobile Developer", "Cloud Architect", "Machine Learning Engineer", "Security Engineer", "Data Analyst",
+            "Engineering Manager", "Solutions Architect", "Database Administrator", "UX Designer", "Technical Writer",
+            "Platform Engineer", "Embedded Engineer", "Game Developer", "Scrum Master", "Support Engineer"
+    };
+
+    static final String[] SENIORITY = {"", "", "Senior ", "Junior ", "Lead ", "Staff ", "Principal "};
+
+    static final String[] NOTE_PHRASES = {
+            "Strong background in %s.", "Asked about experience with %s.", "Needs to brush up on %s.",
+            "Very comfortable with %s.", "Team lead wants a deeper %s assessment.", "Portfolio shows solid %s work.",
+            "Salary expectations discussed.", "Candidate prefers remote work.", "Available to start in two weeks.",
+            "Relocation would be required.", "Good culture fit.", "Communication was clear and concise.",
+            "References checked.", "Waiting on feedback from the hiring manager.", "Scheduled next round."
+    };
+
+    private Vocabulary() {
+    }
+
+    static String pick(String[] words, SplittableRandom random) {
+        return words[random.nextInt(words.length)];
+    }
+}
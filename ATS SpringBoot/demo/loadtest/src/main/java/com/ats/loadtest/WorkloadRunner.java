@@ -0,0 +1,336 @@
+package com.ats.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Drives a running backend with a closed workload: {@code --users} virtual users, each on
+ * its own virtual thread, log in as one of the generated recruiters and then loop over a
+ * weighted mix of operations with an exponentially distributed think time between them.
+ * Requests during {@code --warmup} are sent but not recorded. A user whose token expires
+ * (HTTP 401) logs in again.
+ * <p>
+ * Because every user waits for its response before sending the next request, a slow server
+ * also lowers the offered load; compare throughput together with latency, not latency alone.
+ */
+public final class WorkloadRunner {
+
+    // Operation weights, in report order; --mix overrides them
+    private static final String DEFAULT_MIX = "login=2,search.global=10,search.ranked=8,search.candidates=15,"
+            + "search.jobs=10,dashboard.summary=10,dashboard.stats=5,applications.get=20,"
+            + "applications.timeline=10,applications.status=10";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String password;
+    private final int recruiters;
+    private final Duration requestTimeout;
+    private final Duration thinkTime;
+    private final long seed;
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+    private final Map<String, BiFunction<Session, SplittableRandom, HttpRequest>> operations = new HashMap<>();
+    private final Zipf skills = new Zipf(Vocabulary.SKILLS.length, 1.1);
+    private final Zipf titles = new Zipf(Vocabulary.TITLES.length, 0.9);
+
+    private RunReport report;
+    private volatile long measureFrom;
+    private long applicationCount;
+
+    WorkloadRunner(HttpClient client, String baseUrl, String password, int recruiters, Duration requestTimeout,
+                   Duration thinkTime, long seed, Map<String, Integer> mix) {
+        this.client = client;
+        this.baseUrl = baseUrl.replaceAll("/+$", "");
+        this.password = password;
+        this.recruiters = recruiters;
+        this.requestTimeout = requestTimeout;
+        this.thinkTime = thinkTime;
+        this.seed = seed;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        operations.put("login", (session, random) -> loginRequest(session.username));
+        operations.put("search.global", (session, random) ->
+                get(session, "/api/search/global?limit=10&q=" + encode(skill(random))));
+        operations.put("search.ranked", (session, random) ->
+                get(session, "/api/search/ranked?limit=20&q=" + encode(skill(random))));
+        operations.put("search.candidates", (session, random) ->
+                get(session, "/api/search/candidates?limit=20&q=" + encode(random.nextInt(4) == 0
+                        ? Vocabulary.pick(Vocabulary.LAST_NAMES, random) : skill(random))));
+        operations.put("search.jobs", (session, random) ->
+                get(session, "/api/search/jobs?limit=20&q=" + encode(Vocabulary.TITLES[titles.sample(random)])));
+        operations.put("dashboard.summary", (session, random) -> get(session, "/api/dashboard/summary"));
+        operations.put("dashboard.stats", (session, random) -> get(session, "/api/dashboard/stats"));
+        operations.put("applications.get", (session, random) ->
+                get(session, "/api/applications/" + applicationId(random)));
+        operations.put("applications.timeline", (session, random) ->
+                get(session, "/api/application-notes/timeline/application/" + applicationId(random) + "?limit=20"));
+        operations.put("applications.status", (session, random) -> request(session,
+                "/api/applications/" + applicationId(random) + "/status?status="
+                        + Vocabulary.pick(new String[]{"SCREENING", "INTERVIEWING", "OFFER", "REJECTED"}, random))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build());
+
+        for (String name : mix.keySet()) {
+            if (!operations.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown operation in --mix: " + name
+                        + "; known operations: " + new TreeSet<>(operations.keySet()));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        String baseUrl = options.get("base-url", "http://localhost:8080");
+        int users = options.getInt("users", 50);
+        Duration duration = options.getDuration("duration", Duration.ofMinutes(2));
+        Duration warmup = options.getDuration("warmup", Duration.ofSeconds(30));
+        Duration rampUp = options.getDuration("ramp-up", Duration.ofSeconds(10));
+        Duration thinkTime = options.getDuration("think-time", Duration.ofMillis(100));
+        Duration timeout = options.getDuration("timeout", Duration.ofSeconds(30));
+        int recruiters = options.getInt("recruiters", 100);
+        String password = options.get("password", DataGenerator.PASSWORD);
+        long seed = options.getLong("seed", 42);
+        String label = options.get("label", "run");
+        String out = options.get("out", "target/loadtest-" + label + ".json");
+        Map<String, Integer> mix = parseMix(options.get("mix", DEFAULT_MIX));
+        options.rejectUnknown();
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("baseUrl", baseUrl);
+        settings.put("users", users);
+        settings.put("durationSeconds", duration.toSeconds());
+        settings.put("warmupSeconds", warmup.toSeconds());
+        settings.put("thinkTimeMs", thinkTime.toMillis());
+        settings.put("recruiters", recruiters);
+        settings.put("seed", seed);
+        settings.put("mix", mix);
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(clientExecutor)
+                    .build();
+            WorkloadRunner runner = new WorkloadRunner(client, baseUrl, password, recruiters, timeout, thinkTime,
+                    seed, mix);
+            RunReport report = runner.run(label, settings, users, rampUp, warmup, duration);
+            report.print();
+            File file = new File(out);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            report.write(file);
+            System.out.printf("%nReport written to %s%n", file);
+        }
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected name=weight in --mix, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    RunReport run(String label, Map<String, Object> settings, int users, Duration rampUp, Duration warmup,
+                  Duration duration) throws IOException, InterruptedException {
+        report = new RunReport(label, settings, mix.keySet());
+        applicationCount = discoverApplicationCount();
+        System.out.printf("%s: %d users against %s (%,d applications), %ds warmup, %ds measured%n",
+                label, users, baseUrl, applicationCount, warmup.toSeconds(), duration.toSeconds());
+
+        long start = System.nanoTime();
+        measureFrom = start + rampUp.toNanos() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        try (ExecutorService userThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                int user = i;
+                long startAt = start + rampUp.toNanos() * user / users;
+                userThreads.submit(() -> runUser(user, startAt, end));
+            }
+            while (System.nanoTime() < end) {
+                sleepNanos(Math.min(TimeUnit.SECONDS.toNanos(10), end - System.nanoTime()));
+                long now = System.nanoTime();
+                String phase = now < measureFrom ? "warmup" : "measuring";
+                System.out.printf("  %3ds %s: %,d requests, %,d errors%n", TimeUnit.NANOSECONDS.toSeconds(now - start),
+                        phase, report.totalRequests(), report.totalErrors());
+            }
+        }
+        report.setMeasuredNanos(duration.toNanos());
+        return report;
+    }
+
+    private void runUser(int user, long startAt, long end) {
+        SplittableRandom random = new SplittableRandom(seed * 1_000_003 + user);
+        Session session = new Session("recruiter" + (user % recruiters + 1));
+        try {
+            sleepNanos(startAt - System.nanoTime());
+            while (System.nanoTime() < end) {
+                if (session.token == null) {
+                    login(session);
+                } else {
+                    String operation = pickOperation(random);
+                    if (operation.equals("login")) {
+                        login(session);
+                    } else if (send(operation, operations.get(operation).apply(session, random)) == 401) {
+                        session.token = null;
+                    }
+                }
+                if (!thinkTime.isZero()) {
+                    double exponential = -Math.log(1 - random.nextDouble());
+                    sleepNanos((long) (thinkTime.toNanos() * exponential));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void login(Session session) {
+        long start = System.nanoTime();
+        int status = 0;
+        try {
+            HttpResponse<String> response = client.send(loginRequest(session.username),
+                    HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            if (status == 200) {
+                session.token = MAPPER.readTree(response.body()).path("token").asText(null);
+            }
+        } catch (IOException e) {
+            // Recorded as status 0
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        record("login", status, System.nanoTime() - start);
+    }
+
+    private int send(String operation, HttpRequest request) {
+        long start = System.nanoTime();
+        int status = 0;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            // Recorded as status 0
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        record(operation, status, System.nanoTime() - start);
+        return status;
+    }
+
+    private void record(String operation, int status, long nanos) {
+        if (System.nanoTime() >= measureFrom && report.hasEndpoint(operation)) {
+            report.record(operation, status, nanos);
+        }
+    }
+
+    private long discoverApplicationCount() throws IOException, InterruptedException {
+        Session session = new Session("recruiter1");
+        HttpResponse<String> login = client.send(loginRequest(session.username), HttpResponse.BodyHandlers.ofString());
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Login as recruiter1 failed with HTTP " + login.statusCode() + ": "
+                    + login.body() + " (was the database filled by 'generate'?)");
+        }
+        session.token = MAPPER.readTree(login.body()).path("token").asText();
+        HttpResponse<String> count = client.send(get(session, "/api/applications/count"),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode body = MAPPER.readTree(count.body());
+        long applications = body.path("count").asLong();
+        if (applications <= 0) {
+            throw new IllegalStateException("No applications found: " + count.body());
+        }
+        return applications;
+    }
+
+    private String pickOperation(SplittableRandom random) {
+        int r = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            r -= entry.getValue();
+            if (r < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Weights do not add up to " + totalWeight);
+    }
+
+    /**
+     * Four in five lookups go to the first 1% of ids, standing in for the applications
+     * recruiters are actively working on; the rest are spread over the whole table.
+     */
+    private long applicationId(SplittableRandom random) {
+        long hot = Math.max(1, applicationCount / 100);
+        return 1 + (random.nextInt(5) > 0 ? random.nextLong(hot) : random.nextLong(applicationCount));
+    }
+
+    private String skill(SplittableRandom random) {
+        return Vocabulary.SKILLS[skills.sample(random)];
+    }
+
+    private HttpRequest loginRequest(String username) {
+        String body = MAPPER.createObjectNode().put("username", username).put("password", password).toString();
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(Session session, String path) {
+        return request(session, path).GET().build();
+    }
+
+    private HttpRequest.Builder request(Session session, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .header("Authorization", "Bearer " + session.token);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void sleepNanos(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+
+    private static final class Session {
+
+        private final String username;
+        private String token;
+
+        Session(String username) {
+            this.username = username;
+        }
+    }
+}
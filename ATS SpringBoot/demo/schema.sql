@@ -16,6 +16,7 @@ CREATE TABLE users (
     first_name VARCHAR(50) NOT NULL,
     last_name VARCHAR(50) NOT NULL,
     role VARCHAR(20) NOT NULL DEFAULT 'RECRUITER' CHECK (role IN ('ADMIN', 'RECRUITER')),
+    token_version INTEGER NOT NULL DEFAULT 0, -- Revokes issued JWTs when bumped
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
@@ -67,6 +68,7 @@ CREATE TABLE jobs (
     deadline DATE,
     company_id BIGINT NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
     assigned_recruiter_id BIGINT REFERENCES users(id) ON DELETE SET NULL,
+    version BIGINT NOT NULL DEFAULT 0, -- Optimistic locking
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
@@ -81,21 +83,98 @@ CREATE TABLE applications (
     applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     last_contact_date TIMESTAMP,
     follow_up_date TIMESTAMP,
+    idempotency_key VARCHAR(100) UNIQUE, -- Client-supplied key so retried submissions are absorbed
+    version BIGINT NOT NULL DEFAULT 0, -- Optimistic locking
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     UNIQUE(candidate_id, job_id) -- Prevent duplicate applications
 );
 
 -- Application notes table for tracking communication and feedback
+-- Range-partitioned by month on created_at so date-bounded queries only touch the
+-- relevant partitions. Monthly partitions are created ahead of time by the application
+-- (NoteArchiveService); the default partition only catches rows outside that window.
 CREATE TABLE application_notes (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
     application_id BIGINT NOT NULL REFERENCES applications(id) ON DELETE CASCADE,
     created_by_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     content VARCHAR(2000) NOT NULL,
     note_type VARCHAR(20) NOT NULL DEFAULT 'GENERAL' CHECK (note_type IN ('CALL', 'EMAIL', 'INTERVIEW', 'GENERAL', 'FOLLOW_UP')),
     scheduled_follow_up TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0, -- Optimistic locking
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE application_notes_default PARTITION OF application_notes DEFAULT;
+
+-- Cold storage for notes of closed applications: one row per application holding a
+-- gzip-compressed JSON array of its notes
+CREATE TABLE application_note_archives (
+    application_id BIGINT PRIMARY KEY REFERENCES applications(id) ON DELETE CASCADE,
+    note_count INTEGER NOT NULL,
+    payload BYTEA NOT NULL,
+    oldest_note_at TIMESTAMP,
+    newest_note_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- The payload is already compressed, so skip TOAST compression
+ALTER TABLE application_note_archives ALTER COLUMN payload SET STORAGE EXTERNAL;
+
+-- Opaque refresh tokens, stored only as SHA-256 hashes. Each login starts a family;
+-- every refresh revokes the presented token and issues the next one in that family.
+CREATE TABLE refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    token_hash CHAR(64) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    family_id UUID NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Cluster job coordination: one lease per job partition, plus node heartbeats
+CREATE TABLE scheduled_job_leases (
+    job_name VARCHAR(100) NOT NULL,
+    shard INTEGER NOT NULL,
+    owner VARCHAR(255) NOT NULL,
+    lease_until TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (job_name, shard)
+);
+
+CREATE TABLE cluster_nodes (
+    node_id VARCHAR(255) PRIMARY KEY,
+    last_seen TIMESTAMPTZ NOT NULL
+);
+
+-- Transactional outbox: domain events written with the change that caused them
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP
+);
+
+-- Application timeline read model, appended from relayed outbox events
+CREATE TABLE application_timeline (
+    id BIGSERIAL PRIMARY KEY,
+    application_id BIGINT NOT NULL REFERENCES applications(id) ON DELETE CASCADE,
+    entry_type VARCHAR(30) NOT NULL,
+    source_id BIGINT NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    actor_id BIGINT,
+    note_type VARCHAR(20),
+    from_status VARCHAR(20),
+    to_status VARCHAR(20),
+    scheduled_at TIMESTAMP,
+    content TEXT,
+    UNIQUE (application_id, entry_type, source_id)
 );
 
 -- Indexes for better query performance
@@ -109,9 +188,20 @@ CREATE INDEX idx_jobs_assigned_recruiter ON jobs(assigned_recruiter_id);
 CREATE INDEX idx_applications_candidate_id ON applications(candidate_id);
 CREATE INDEX idx_applications_job_id ON applications(job_id);
 CREATE INDEX idx_applications_status ON applications(status);
+CREATE INDEX idx_applications_job_pipeline ON applications(job_id, status, applied_at DESC);
 CREATE INDEX idx_applications_follow_up ON applications(follow_up_date);
-CREATE INDEX idx_application_notes_application_id ON application_notes(application_id);
+CREATE INDEX idx_application_notes_application_id ON application_notes(application_id, created_at);
+CREATE INDEX idx_application_notes_created_at ON application_notes(created_at);
 CREATE INDEX idx_application_notes_created_by ON application_notes(created_by_id);
+-- Full-text note search; queries must use the same to_tsvector('english', content) expression
+CREATE INDEX idx_application_notes_content_fts ON application_notes USING GIN (to_tsvector('english', content));
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+CREATE INDEX idx_scheduled_job_leases_owner ON scheduled_job_leases(owner);
+CREATE INDEX idx_outbox_events_pending ON outbox_events(id) WHERE published_at IS NULL;
+CREATE INDEX idx_outbox_events_published_at ON outbox_events(published_at);
+CREATE INDEX idx_application_timeline_cursor ON application_timeline(application_id, occurred_at DESC, id DESC);
 
 -- Function to update the updated_at column automatically
 CREATE OR REPLACE FUNCTION update_updated_at_column()
@@ -0,0 +1,42 @@
+package com.ats.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sets the ETag computed by {@link ConditionalGetInterceptor} on successful responses.
+ * Headers must be in place before the body is written, and only then is the status
+ * known, so this runs just ahead of serialization. Error bodies get no ETag, so clients
+ * and proxies never revalidate them.
+ */
+@ControllerAdvice
+public class ConditionalGetEtagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletRequest.getServletRequest().getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE) instanceof String etag) {
+            int status = servletResponse.getServletResponse().getStatus();
+            if (status >= 200 && status < 300) {
+                response.getHeaders().setETag(etag);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ats.config;
+
+import com.ats.service.ChangeTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.List;
+
+/**
+ * Conditional GET for read endpoints whose content depends only on a known set of
+ * entity types. The ETag is the {@link ChangeTracker} stamp over those types, so a
+ * matching {@code If-None-Match} is answered with 304 before the controller runs:
+ * no query, no serialization. Otherwise the stamp is left in a request attribute and
+ * {@link ConditionalGetEtagAdvice} sets it on the response only if that succeeds.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".etag";
+
+    private final ChangeTracker changeTracker;
+    private final List<String> entityNames;
+
+    public ConditionalGetInterceptor(ChangeTracker changeTracker, String... entityNames) {
+        this.changeTracker = changeTracker;
+        this.entityNames = List.of(entityNames);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+
+        String etag = "\"" + changeTracker.stamp(entityNames) + "\"";
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && matches(ifNoneMatch, etag)) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
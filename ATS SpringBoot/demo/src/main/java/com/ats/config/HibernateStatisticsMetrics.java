@@ -0,0 +1,67 @@
+package com.ats.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes Hibernate's session-factory statistics: statement and query counts, entity
+ * loads and fetches, second-level and query cache hits and misses, and the slowest query.
+ * Values are read from {@link Statistics} when scraped, so recording costs nothing beyond
+ * {@code hibernate.generate_statistics} itself; with statistics off every value stays zero.
+ */
+@Component
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        counter(registry, statistics, "hibernate.statements", Tags.of("state", "prepared"), Statistics::getPrepareStatementCount);
+        counter(registry, statistics, "hibernate.query.executions", Tags.empty(), Statistics::getQueryExecutionCount);
+        counter(registry, statistics, "hibernate.transactions", Tags.of("result", "success"), Statistics::getSuccessfulTransactionCount);
+        counter(registry, statistics, "hibernate.transactions", Tags.of("result", "failure"),
+                s -> s.getTransactionCount() - s.getSuccessfulTransactionCount());
+        counter(registry, statistics, "hibernate.flushes", Tags.empty(), Statistics::getFlushCount);
+        counter(registry, statistics, "hibernate.optimistic.failures", Tags.empty(), Statistics::getOptimisticFailureCount);
+
+        counter(registry, statistics, "hibernate.entities", Tags.of("operation", "load"), Statistics::getEntityLoadCount);
+        counter(registry, statistics, "hibernate.entities", Tags.of("operation", "fetch"), Statistics::getEntityFetchCount);
+        counter(registry, statistics, "hibernate.entities", Tags.of("operation", "insert"), Statistics::getEntityInsertCount);
+        counter(registry, statistics, "hibernate.entities", Tags.of("operation", "update"), Statistics::getEntityUpdateCount);
+        counter(registry, statistics, "hibernate.entities", Tags.of("operation", "delete"), Statistics::getEntityDeleteCount);
+        counter(registry, statistics, "hibernate.collections", Tags.of("operation", "load"), Statistics::getCollectionLoadCount);
+        counter(registry, statistics, "hibernate.collections", Tags.of("operation", "fetch"), Statistics::getCollectionFetchCount);
+
+        counter(registry, statistics, "hibernate.second.level.cache.requests", Tags.of("result", "hit"), Statistics::getSecondLevelCacheHitCount);
+        counter(registry, statistics, "hibernate.second.level.cache.requests", Tags.of("result", "miss"), Statistics::getSecondLevelCacheMissCount);
+        counter(registry, statistics, "hibernate.second.level.cache.puts", Tags.empty(), Statistics::getSecondLevelCachePutCount);
+        counter(registry, statistics, "hibernate.query.cache.requests", Tags.of("result", "hit"), Statistics::getQueryCacheHitCount);
+        counter(registry, statistics, "hibernate.query.cache.requests", Tags.of("result", "miss"), Statistics::getQueryCacheMissCount);
+
+        Gauge.builder("hibernate.query.executions.max", statistics, Statistics::getQueryExecutionMaxTime)
+                .description("Slowest query since startup")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("hibernate.sessions.open", statistics,
+                        s -> s.getSessionOpenCount() - s.getSessionCloseCount())
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, Statistics statistics, String name, Tags tags,
+                                ToDoubleFunction<Statistics> value) {
+        FunctionCounter.builder(name, statistics, value).tags(tags).register(registry);
+    }
+}
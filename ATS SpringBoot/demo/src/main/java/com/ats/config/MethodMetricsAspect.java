@@ -0,0 +1,137 @@
+package com.ats.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public service method ({@code ats.service.method}, tagged by class and
+ * method) and every repository call ({@code ats.repository.query}, tagged by repository,
+ * entity and method), with p50/p95/p99 and an {@code exception} tag naming what was thrown.
+ * Service timings include the repository calls they make. Disabled with
+ * {@code app.metrics.methods.enabled=false}.
+ */
+@Aspect
+@Component
+public class MethodMetricsAspect {
+
+    private static final String DESCRIPTION = "Latency of ATS %s calls";
+
+    // Timers per advised method, built once; repository methods are keyed by repository
+    // too, since the inherited ones (findById, save, ...) are shared between them
+    private final ConcurrentHashMap<Method, MethodTimers> serviceTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<RepositoryMethod, MethodTimers> repositoryTimers = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.metrics.methods.enabled:true}")
+    private boolean enabled;
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * com.ats.service..*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimers timers = serviceTimers.computeIfAbsent(method, m -> new MethodTimers("ats.service.method",
+                "service", Tags.of("class", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName(),
+                "method", m.getName())));
+        return time(timers, joinPoint);
+    }
+
+    @Around("(this(org.springframework.data.repository.Repository) || within(com.ats.repository..*)) " +
+            "&& execution(public * *(..)) && !execution(* java.lang.Object.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        RepositoryMethod key = new RepositoryMethod(joinPoint.getThis().getClass(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod());
+        MethodTimers timers = repositoryTimers.computeIfAbsent(key, k -> new MethodTimers("ats.repository.query",
+                "repository", repositoryTags(k.proxyClass()).and("method", k.method().getName())));
+        return time(timers, joinPoint);
+    }
+
+    private Object time(MethodTimers timers, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            sample.stop(timers.timer(failure));
+        }
+    }
+
+    /**
+     * The application's repository interface behind a Spring Data proxy (or the repository
+     * class itself) and the entity it manages.
+     */
+    private static Tags repositoryTags(Class<?> proxyClass) {
+        Class<?> repository = ClassUtils.getUserClass(proxyClass);
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClass(proxyClass)) {
+            if (candidate.getPackageName().startsWith("com.ats.repository")) {
+                repository = candidate;
+                break;
+            }
+        }
+        Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(repository, Repository.class);
+        String entity = typeArguments != null && typeArguments[0] != null ? typeArguments[0].getSimpleName() : "none";
+        return Tags.of("repository", repository.getSimpleName(), "entity", entity);
+    }
+
+    private record RepositoryMethod(Class<?> proxyClass, Method method) {}
+
+    /**
+     * The timers of one advised method: one for calls that return, and one per exception
+     * type thrown, registered on first use.
+     */
+    private final class MethodTimers {
+
+        private final String name;
+        private final String kind;
+        private final Tags tags;
+        private final Timer returned;
+        private final ConcurrentHashMap<Class<?>, Timer> thrown = new ConcurrentHashMap<>();
+
+        MethodTimers(String name, String kind, Tags tags) {
+            this.name = name;
+            this.kind = kind;
+            this.tags = tags;
+            this.returned = register("none");
+        }
+
+        Timer timer(Throwable failure) {
+            if (failure == null) {
+                return returned;
+            }
+            return thrown.computeIfAbsent(failure.getClass(), type -> register(type.getSimpleName()));
+        }
+
+        private Timer register(String exception) {
+            return Timer.builder(name)
+                    .description(DESCRIPTION.formatted(kind))
+                    .tags(tags)
+                    .tag("exception", exception)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ats.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only side of the primary/replica split. Connections are handed out round-robin
+ * from the replicas whose last measured replication lag was within {@code maxLagMs};
+ * when no replica qualifies the primary is used instead.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private volatile boolean[] healthy;
+    private final long maxLagMs;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long maxLagMs, String lagQuery) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.healthy = new boolean[replicas.size()];
+        this.maxLagMs = maxLagMs;
+        this.lagQuery = lagQuery;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+
+    private DataSource determineTarget() {
+        boolean[] healthy = this.healthy;
+        int size = healthy.length;
+        int start = Math.floorMod(next.getAndIncrement(), size == 0 ? 1 : size);
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (healthy[index]) {
+                return replicas.get(index);
+            }
+        }
+        return primary;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:2000}")
+    public void checkReplicaLag() {
+        boolean[] checked = new boolean[replicas.size()];
+        for (int i = 0; i < checked.length; i++) {
+            checked[i] = measureLagMs(replicas.get(i)) <= maxLagMs;
+            if (checked[i] != healthy[i]) {
+                logger.warn("Replica {} is now {}", i, checked[i] ? "serving reads" : "bypassed, reads fall back to primary");
+            }
+        }
+        healthy = checked;
+    }
+
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private long measureLagMs(DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            return rs.next() ? (long) (rs.getDouble(1) * 1000) : Long.MAX_VALUE;
+        } catch (SQLException e) {
+            logger.error("Replica lag check failed: {}", e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+}
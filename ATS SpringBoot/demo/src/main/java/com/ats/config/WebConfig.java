@@ -0,0 +1,30 @@
+package com.ats.config;
+
+import com.ats.service.ChangeTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // Entity responses serialize their associations, so any of these can change any list
+    private static final String[] DOMAIN_ENTITIES =
+            {"Application", "ApplicationNote", "Candidate", "Company", "Job", "User"};
+
+    @Autowired
+    private ChangeTracker changeTracker;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Job and application details keep their @Version ETags (used for If-Match)
+        registry.addInterceptor(new ConditionalGetInterceptor(changeTracker, DOMAIN_ENTITIES))
+                .addPathPatterns("/api/jobs", "/api/jobs/**",
+                        "/api/companies", "/api/companies/**",
+                        "/api/candidates", "/api/candidates/**",
+                        "/api/applications", "/api/applications/**",
+                        "/api/dashboard/**")
+                .excludePathPatterns("/api/jobs/{id:\\d+}", "/api/applications/{id:\\d+}");
+    }
+}
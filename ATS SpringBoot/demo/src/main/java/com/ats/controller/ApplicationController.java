@@ -1,13 +1,21 @@
 package com.ats.controller;
 
 import com.ats.entity.Application;
+import com.ats.exception.ConflictingUpdateException;
+import com.ats.exception.DuplicateResourceException;
+import com.ats.exception.ResourceNotFoundException;
+import com.ats.exception.VersionConflictException;
+import com.ats.service.BatchLoader;
 import com.ats.service.ApplicationService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -27,19 +35,25 @@ public class ApplicationController {
     @Autowired
     private ApplicationService applicationService;
 
+    @Value("${app.batch.max-ids:1000}")
+    private int maxBatchIds;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllApplications(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "appliedAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String fields) {
 
         try {
             Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<Application> applicationPage = applicationService.getAllApplications(pageable);
+            Page<?> applicationPage = fields != null
+                    ? applicationService.getAllApplications(fields, pageable)
+                    : applicationService.getAllApplications(pageable);
 
             Map<String, Object> response = new HashMap<>();
             response.put("applications", applicationPage.getContent());
@@ -48,6 +62,10 @@ public class ApplicationController {
             response.put("totalPages", applicationPage.getTotalPages());
 
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch applications: " + e.getMessage());
@@ -55,12 +73,43 @@ public class ApplicationController {
         }
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getApplicationsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > maxBatchIds) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "At most " + maxBatchIds + " ids can be requested at once");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        try {
+            BatchLoader.Result<Application> result = applicationService.getApplicationsByIds(ids);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("applications", result.found());
+            response.put("missingIds", result.missingIds());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to fetch applications: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getApplicationById(@PathVariable Long id) {
+    public ResponseEntity<?> getApplicationById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // Answer a current If-None-Match from the known version, before loading the row
+            Long knownVersion = applicationService.getKnownApplicationVersion(id);
+            if (knownVersion != null && EntityTags.matchesIfNoneMatch(ifNoneMatch, knownVersion)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(knownVersion)).build();
+            }
             Optional<Application> application = applicationService.getApplicationById(id);
             if (application.isPresent()) {
-                return ResponseEntity.ok(application.get());
+                if (EntityTags.matchesIfNoneMatch(ifNoneMatch, application.get().getVersion())) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(application.get().getVersion())).build();
+                }
+                return ResponseEntity.ok().eTag(EntityTags.of(application.get().getVersion())).body(application.get());
             } else {
                 Map<String, String> errorResponse = new HashMap<>();
                 errorResponse.put("error", "Application not found with id: " + id);
@@ -75,10 +124,21 @@ public class ApplicationController {
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('RECRUITER')")
-    public ResponseEntity<?> createApplication(@Valid @RequestBody Application application) {
+    public ResponseEntity<?> createApplication(
+            @Valid @RequestBody Application application,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
+            application.setIdempotencyKey(idempotencyKey);
             Application savedApplication = applicationService.createApplication(application);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedApplication);
+        } catch (DuplicateResourceException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        } catch (ResourceNotFoundException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
         } catch (RuntimeException e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
@@ -94,10 +154,19 @@ public class ApplicationController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('RECRUITER')")
     public ResponseEntity<?> createApplicationForCandidateAndJob(
             @PathVariable Long candidateId,
-            @PathVariable Long jobId) {
+            @PathVariable Long jobId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            Application savedApplication = applicationService.createApplication(candidateId, jobId);
+            Application savedApplication = applicationService.createApplication(candidateId, jobId, idempotencyKey);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedApplication);
+        } catch (DuplicateResourceException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        } catch (ResourceNotFoundException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
         } catch (RuntimeException e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
@@ -111,10 +180,26 @@ public class ApplicationController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('RECRUITER')")
-    public ResponseEntity<?> updateApplication(@PathVariable Long id, @Valid @RequestBody Application applicationDetails) {
+    public ResponseEntity<?> updateApplication(
+            @PathVariable Long id,
+            @Valid @RequestBody Application applicationDetails,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            Application updatedApplication = applicationService.updateApplication(id, applicationDetails);
-            return ResponseEntity.ok(updatedApplication);
+            Application updatedApplication = applicationService.updateApplication(
+                    id, applicationDetails, EntityTags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedApplication.getVersion())).body(updatedApplication);
+        } catch (VersionConflictException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+        } catch (ConflictingUpdateException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        } catch (OptimisticLockingFailureException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Application was modified concurrently, please retry");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
         } catch (RuntimeException e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
@@ -130,10 +215,24 @@ public class ApplicationController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('RECRUITER')")
     public ResponseEntity<?> updateApplicationStatus(
             @PathVariable Long id,
-            @RequestParam Application.ApplicationStatus status) {
+            @RequestParam Application.ApplicationStatus status,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            Application updatedApplication = applicationService.updateApplicationStatus(id, status);
-            return ResponseEntity.ok(updatedApplication);
+            Application updatedApplication = applicationService.updateApplicationStatus(
+                    id, status, EntityTags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedApplication.getVersion())).body(updatedApplication);
+        } catch (VersionConflictException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+        } catch (ConflictingUpdateException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        } catch (OptimisticLockingFailureException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Application was modified concurrently, please retry");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
         } catch (RuntimeException e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
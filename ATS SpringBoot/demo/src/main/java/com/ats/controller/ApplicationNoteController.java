@@ -1,12 +1,19 @@
 package com.ats.controller;
 
 import com.ats.entity.ApplicationNote;
+import com.ats.exception.ConflictingUpdateException;
+import com.ats.exception.ResourceNotFoundException;
+import com.ats.exception.VersionConflictException;
+import com.ats.repository.NoteSearchRepository;
 import com.ats.service.ApplicationNoteService;
+import com.ats.service.ApplicationTimelineService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +21,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +35,9 @@ public class ApplicationNoteController {
     @Autowired
     private ApplicationNoteService applicationNoteService;
 
+    @Autowired
+    private ApplicationTimelineService applicationTimelineService;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllNotes(
             @RequestParam(defaultValue = "0") int page,
@@ -60,7 +71,7 @@ public class ApplicationNoteController {
         try {
             Optional<ApplicationNote> note = applicationNoteService.getNoteById(id);
             if (note.isPresent()) {
-                return ResponseEntity.ok(note.get());
+                return ResponseEntity.ok().eTag(EntityTags.of(note.get().getVersion())).body(note.get());
             } else {
                 Map<String, String> errorResponse = new HashMap<>();
                 errorResponse.put("error", "Note not found with id: " + id);
@@ -176,10 +187,25 @@ public class ApplicationNoteController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('RECRUITER')")
-    public ResponseEntity<?> updateNote(@PathVariable Long id, @Valid @RequestBody ApplicationNote noteDetails) {
+    public ResponseEntity<?> updateNote(
+            @PathVariable Long id,
+            @Valid @RequestBody ApplicationNote noteDetails,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            ApplicationNote updatedNote = applicationNoteService.updateNote(id, noteDetails);
-            return ResponseEntity.ok(updatedNote);
+            ApplicationNote updatedNote = applicationNoteService.updateNote(id, noteDetails, EntityTags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedNote.getVersion())).body(updatedNote);
+        } catch (VersionConflictException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+        } catch (ConflictingUpdateException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        } catch (OptimisticLockingFailureException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Note was modified concurrently, please retry");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
         } catch (RuntimeException e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
@@ -320,10 +346,31 @@ public class ApplicationNoteController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<?> searchNotesContent(@RequestParam String q) {
+    public ResponseEntity<?> searchNotesContent(
+            @RequestParam String q,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) ApplicationNote.NoteType noteType,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) Long applicationId,
+            @RequestParam(defaultValue = "relevance") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            List<ApplicationNote> notes = applicationNoteService.searchNotesContent(q);
-            return ResponseEntity.ok(notes);
+            NoteSearchRepository.Criteria criteria = new NoteSearchRepository.Criteria(q, noteType, authorId,
+                    applicationId, since != null ? LocalDateTime.parse(since) : null,
+                    sort.equalsIgnoreCase("recent") ? NoteSearchRepository.Order.RECENT : NoteSearchRepository.Order.RELEVANCE);
+            Slice<Map<String, Object>> results = applicationNoteService.searchNotes(
+                    criteria, PageRequest.of(page, Math.min(size, 100)));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("notes", results.getContent());
+            response.put("currentPage", results.getNumber());
+            response.put("hasNext", results.hasNext());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to search notes: " + e.getMessage());
@@ -332,14 +379,26 @@ public class ApplicationNoteController {
     }
 
     @GetMapping("/timeline/application/{applicationId}")
-    public ResponseEntity<?> getApplicationTimeline(@PathVariable Long applicationId) {
+    public ResponseEntity<?> getApplicationTimeline(
+            @PathVariable Long applicationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
         try {
-            List<ApplicationNote> notes = applicationNoteService.getNotesByApplication(applicationId);
+            ApplicationTimelineService.Page page = applicationTimelineService.getTimeline(
+                    applicationId, cursor, Math.max(1, Math.min(limit, 200)));
             Map<String, Object> timeline = new HashMap<>();
             timeline.put("applicationId", applicationId);
-            timeline.put("notes", notes);
-            timeline.put("totalNotes", notes.size());
+            timeline.put("entries", page.entries());
+            timeline.put("nextCursor", page.nextCursor());
             return ResponseEntity.ok(timeline);
+        } catch (ResourceNotFoundException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch application timeline: " + e.getMessage());
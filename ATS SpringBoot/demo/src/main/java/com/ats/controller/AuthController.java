@@ -2,19 +2,28 @@ package com.ats.controller;
 
 import com.ats.dto.JwtResponse;
 import com.ats.dto.LoginRequest;
+import com.ats.dto.RefreshTokenRequest;
 import com.ats.dto.RegisterRequest;
 import com.ats.entity.User;
+import com.ats.exception.RateLimitExceededException;
+import com.ats.exception.ServiceOverloadedException;
+import com.ats.security.CustomUserDetailsService;
 import com.ats.security.JwtUtils;
+import com.ats.security.LoginRateLimiter;
 import com.ats.security.UserPrincipal;
+import com.ats.service.RefreshTokenService;
 import com.ats.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,9 +43,21 @@ public class AuthController {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                              HttpServletRequest request) {
         try {
+            loginRateLimiter.acquire(request.getRemoteAddr(), loginRequest.getUsername());
+
             Authentication authentication = authenticationManager
                     .authenticate(new UsernamePasswordAuthenticationToken(
                             loginRequest.getUsername(),
@@ -48,13 +69,27 @@ public class AuthController {
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
             User user = userService.getUserByUsername(userPrincipal.getUsername()).orElse(null);
 
-            return ResponseEntity.ok(new JwtResponse(jwt,
+            JwtResponse jwtResponse = new JwtResponse(jwt,
                     userPrincipal.getId(),
                     userPrincipal.getUsername(),
                     userPrincipal.getEmail(),
                     user.getFirstName(),
                     user.getLastName(),
-                    user.getRole()));
+                    user.getRole());
+            jwtResponse.setRefreshToken(refreshTokenService.issue(userPrincipal.getId()));
+            return ResponseEntity.ok(jwtResponse);
+        } catch (RateLimitExceededException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(errorResponse);
+        } catch (ServiceOverloadedException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(errorResponse);
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "Invalid username or password");
@@ -62,6 +97,24 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshTokenRequest.getRefreshToken());
+            UserPrincipal userPrincipal = (UserPrincipal) userDetailsService.loadUserById(rotation.userId());
+
+            Map<String, String> response = new HashMap<>();
+            response.put("token", jwtUtils.generateJwtToken(userPrincipal));
+            response.put("type", "Bearer");
+            response.put("refreshToken", rotation.refreshToken());
+            return ResponseEntity.ok(response);
+        } catch (AuthenticationException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+        }
+    }
+
     @PostMapping("/register")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
@@ -100,6 +153,19 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        userService.revokeTokens(userPrincipal.getId());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out successfully");
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
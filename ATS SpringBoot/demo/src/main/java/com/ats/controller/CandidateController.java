@@ -1,9 +1,11 @@
 package com.ats.controller;
 
 import com.ats.entity.Candidate;
+import com.ats.service.BatchLoader;
 import com.ats.service.CandidateService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -26,19 +28,25 @@ public class CandidateController {
     @Autowired
     private CandidateService candidateService;
 
+    @Value("${app.batch.max-ids:1000}")
+    private int maxBatchIds;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllCandidates(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "firstName") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String fields) {
 
         try {
             Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<Candidate> candidatePage = candidateService.getAllCandidates(pageable);
+            Page<?> candidatePage = fields != null
+                    ? candidateService.getAllCandidates(fields, pageable)
+                    : candidateService.getAllCandidates(pageable);
 
             Map<String, Object> response = new HashMap<>();
             response.put("candidates", candidatePage.getContent());
@@ -47,6 +55,10 @@ public class CandidateController {
             response.put("totalPages", candidatePage.getTotalPages());
 
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch candidates: " + e.getMessage());
@@ -54,6 +66,27 @@ public class CandidateController {
         }
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getCandidatesByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > maxBatchIds) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "At most " + maxBatchIds + " ids can be requested at once");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        try {
+            BatchLoader.Result<Candidate> result = candidateService.getCandidatesByIds(ids);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("candidates", result.found());
+            response.put("missingIds", result.missingIds());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to fetch candidates: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getCandidateById(@PathVariable Long id) {
         try {
@@ -31,14 +31,17 @@ public class CompanyController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String fields) {
 
         try {
             Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<Company> companyPage = companyService.getAllCompanies(pageable);
+            Page<?> companyPage = fields != null
+                    ? companyService.getAllCompanies(fields, pageable)
+                    : companyService.getAllCompanies(pageable);
 
             Map<String, Object> response = new HashMap<>();
             response.put("companies", companyPage.getContent());
@@ -47,6 +50,10 @@ public class CompanyController {
             response.put("totalPages", companyPage.getTotalPages());
 
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch companies: " + e.getMessage());
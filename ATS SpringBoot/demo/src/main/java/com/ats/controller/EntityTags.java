@@ -0,0 +1,63 @@
+package com.ats.controller;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Strong ETags derived from an entity's {@code @Version} column.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the versions named by an {@code If-Match} header, or {@code null} when the
+     * header is absent or {@code *} (no precondition). The header may list several tags and
+     * the request proceeds if any of them is current. {@code If-Match} uses strong
+     * comparison (RFC 9110, section 13.1.1), so weak tags and tags that are not one of ours
+     * are left out; when none remain the set is empty and can never match (412).
+     */
+    static Set<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*")) {
+                return null;
+            }
+            if (trimmed.length() < 3 || !trimmed.startsWith("\"") || !trimmed.endsWith("\"")) {
+                continue;
+            }
+            try {
+                versions.add(Long.parseLong(trimmed.substring(1, trimmed.length() - 1)));
+            } catch (NumberFormatException e) {
+                // Not one of our tags
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header already names the given version, in which
+     * case the client's copy is current and a 304 can be returned.
+     */
+    static boolean matchesIfNoneMatch(String ifNoneMatch, Long version) {
+        if (ifNoneMatch == null || version == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*") || trimmed.equals(of(version)) || trimmed.equals("W/" + of(version))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,13 +1,21 @@
 package com.ats.controller;
 
 import com.ats.entity.Job;
+import com.ats.exception.ConflictingUpdateException;
+import com.ats.exception.ResourceNotFoundException;
+import com.ats.exception.VersionConflictException;
+import com.ats.service.BatchLoader;
+import com.ats.service.JobPipelineService;
 import com.ats.service.JobService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,19 +34,28 @@ public class JobController {
     @Autowired
     private JobService jobService;
 
+    @Autowired
+    private JobPipelineService jobPipelineService;
+
+    @Value("${app.batch.max-ids:1000}")
+    private int maxBatchIds;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllJobs(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String fields) {
 
         try {
             Sort sort = sortDir.equalsIgnoreCase("desc") ?
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
             Pageable pageable = PageRequest.of(page, size, sort);
-            Page<Job> jobPage = jobService.getAllJobs(pageable);
+            Page<?> jobPage = fields != null
+                    ? jobService.getAllJobs(fields, pageable)
+                    : jobService.getAllJobs(pageable);
 
             Map<String, Object> response = new HashMap<>();
             response.put("jobs", jobPage.getContent());
@@ -47,6 +64,10 @@ public class JobController {
             response.put("totalPages", jobPage.getTotalPages());
 
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch jobs: " + e.getMessage());
@@ -54,12 +75,43 @@ public class JobController {
         }
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getJobsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > maxBatchIds) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "At most " + maxBatchIds + " ids can be requested at once");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        try {
+            BatchLoader.Result<Job> result = jobService.getJobsByIds(ids);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("jobs", result.found());
+            response.put("missingIds", result.missingIds());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to fetch jobs: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getJobById(@PathVariable Long id) {
+    public ResponseEntity<?> getJobById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // Answer a current If-None-Match from the known version, before loading the row
+            Long knownVersion = jobService.getKnownJobVersion(id);
+            if (knownVersion != null && EntityTags.matchesIfNoneMatch(ifNoneMatch, knownVersion)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(knownVersion)).build();
+            }
             Optional<Job> job = jobService.getJobById(id);
             if (job.isPresent()) {
-                return ResponseEntity.ok(job.get());
+                if (EntityTags.matchesIfNoneMatch(ifNoneMatch, job.get().getVersion())) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(job.get().getVersion())).build();
+                }
+                return ResponseEntity.ok().eTag(EntityTags.of(job.get().getVersion())).body(job.get());
             } else {
                 Map<String, String> errorResponse = new HashMap<>();
                 errorResponse.put("error", "Job not found with id: " + id);
@@ -72,6 +124,21 @@ public class JobController {
         }
     }
 
+    @GetMapping("/{id}/pipeline")
+    public ResponseEntity<?> getJobPipeline(@PathVariable Long id,
+                                            @RequestParam(defaultValue = "10") int cardsPerStage) {
+        try {
+            int limit = Math.max(1, Math.min(cardsPerStage, 50));
+            return ResponseEntity.ok(jobPipelineService.getPipeline(id, limit));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to fetch job pipeline: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('RECRUITER')")
     public ResponseEntity<?> createJob(@Valid @RequestBody Job job) {
@@ -87,10 +154,25 @@ public class JobController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('RECRUITER')")
-    public ResponseEntity<?> updateJob(@PathVariable Long id, @Valid @RequestBody Job jobDetails) {
+    public ResponseEntity<?> updateJob(
+            @PathVariable Long id,
+            @Valid @RequestBody Job jobDetails,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            Job updatedJob = jobService.updateJob(id, jobDetails);
-            return ResponseEntity.ok(updatedJob);
+            Job updatedJob = jobService.updateJob(id, jobDetails, EntityTags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedJob.getVersion())).body(updatedJob);
+        } catch (VersionConflictException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+        } catch (ConflictingUpdateException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        } catch (OptimisticLockingFailureException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Job was modified concurrently, please retry");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
         } catch (RuntimeException e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
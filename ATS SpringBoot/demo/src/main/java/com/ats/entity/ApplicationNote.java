@@ -35,6 +35,9 @@ public class ApplicationNote {
     @Column(name = "scheduled_follow_up")
     private LocalDateTime scheduledFollowUp;
 
+    @Version
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -104,6 +107,14 @@ public class ApplicationNote {
         this.scheduledFollowUp = scheduledFollowUp;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,83 @@
+package com.ats.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "application_note_archives")
+public class ApplicationNoteArchive {
+
+    @Id
+    @Column(name = "application_id")
+    private Long applicationId;
+
+    @Column(name = "note_count")
+    private Integer noteCount;
+
+    // gzip-compressed JSON array of the archived notes
+    private byte[] payload;
+
+    @Column(name = "oldest_note_at")
+    private LocalDateTime oldestNoteAt;
+
+    @Column(name = "newest_note_at")
+    private LocalDateTime newestNoteAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onArchive() {
+        archivedAt = LocalDateTime.now();
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(Long applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public Integer getNoteCount() {
+        return noteCount;
+    }
+
+    public void setNoteCount(Integer noteCount) {
+        this.noteCount = noteCount;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getOldestNoteAt() {
+        return oldestNoteAt;
+    }
+
+    public void setOldestNoteAt(LocalDateTime oldestNoteAt) {
+        this.oldestNoteAt = oldestNoteAt;
+    }
+
+    public LocalDateTime getNewestNoteAt() {
+        return newestNoteAt;
+    }
+
+    public void setNewestNoteAt(LocalDateTime newestNoteAt) {
+        this.newestNoteAt = newestNoteAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
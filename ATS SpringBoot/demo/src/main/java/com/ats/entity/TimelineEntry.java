@@ -0,0 +1,147 @@
+package com.ats.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of an application's denormalized timeline: the application itself, a note, a
+ * status transition, or a contact/follow-up date being set. {@code sourceId} identifies
+ * what the entry was built from (application, note or outbox event id), which keeps
+ * appends idempotent. Rows are written with native upserts; see
+ * {@code ApplicationTimelineService}.
+ */
+@Entity
+@Table(name = "application_timeline",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"application_id", "entry_type", "source_id"}),
+        indexes = @Index(name = "idx_application_timeline_cursor", columnList = "application_id, occurred_at DESC, id DESC"))
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "application_id", nullable = false)
+    private Long applicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 30)
+    private EntryType entryType;
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "note_type", length = 20)
+    private String noteType;
+
+    @Column(name = "from_status", length = 20)
+    private String fromStatus;
+
+    @Column(name = "to_status", length = 20)
+    private String toStatus;
+
+    // Contact date, or the follow-up date that was set
+    @Column(name = "scheduled_at")
+    private LocalDateTime scheduledAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    public enum EntryType {
+        APPLIED, NOTE, STATUS_CHANGED, CONTACTED, FOLLOW_UP_SCHEDULED, FOLLOW_UP_CLEARED
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(Long applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public EntryType getEntryType() {
+        return entryType;
+    }
+
+    public void setEntryType(EntryType entryType) {
+        this.entryType = entryType;
+    }
+
+    public Long getSourceId() {
+        return sourceId;
+    }
+
+    public void setSourceId(Long sourceId) {
+        this.sourceId = sourceId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(Long actorId) {
+        this.actorId = actorId;
+    }
+
+    public String getNoteType() {
+        return noteType;
+    }
+
+    public void setNoteType(String noteType) {
+        this.noteType = noteType;
+    }
+
+    public String getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(String fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public String getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(String toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public LocalDateTime getScheduledAt() {
+        return scheduledAt;
+    }
+
+    public void setScheduledAt(LocalDateTime scheduledAt) {
+        this.scheduledAt = scheduledAt;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+}
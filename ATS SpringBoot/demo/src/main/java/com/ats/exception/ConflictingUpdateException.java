@@ -0,0 +1,31 @@
+package com.ats.exception;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.List;
+
+public class ConflictingUpdateException extends OptimisticLockingFailureException {
+
+    private String resourceName;
+    private Object id;
+    private List<String> fields;
+
+    public ConflictingUpdateException(String resourceName, Object id, List<String> fields) {
+        super(String.format("%s %s was modified concurrently: %s changed by another update", resourceName, id, fields));
+        this.resourceName = resourceName;
+        this.id = id;
+        this.fields = fields;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ats.exception;
+
+import java.util.Set;
+
+public class VersionConflictException extends RuntimeException {
+
+    private String resourceName;
+    private Object id;
+    private Set<Long> expectedVersions;
+    private Long currentVersion;
+
+    public VersionConflictException(String resourceName, Object id, Set<Long> expectedVersions, Long currentVersion) {
+        super(String.format("%s %s was modified concurrently: expected version %s but found %d",
+                resourceName, id, expectedVersions.size() == 1 ? expectedVersions.iterator().next()
+                        : "one of " + expectedVersions, currentVersion));
+        this.resourceName = resourceName;
+        this.id = id;
+        this.expectedVersions = expectedVersions;
+        this.currentVersion = currentVersion;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    public Set<Long> getExpectedVersions() {
+        return expectedVersions;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ats.monitoring;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL to a fingerprint shared by every execution of the same statement shape:
+ * comments dropped, string and numeric literals replaced by {@code ?}, {@code IN} lists
+ * and multi-row {@code VALUES} collapsed, whitespace squeezed, lower-cased. Hibernate's
+ * generated aliases ({@code a1_0}) are stable, so they are kept.
+ */
+final class SqlFingerprints {
+
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern LINE_COMMENT = Pattern.compile("--[^\\n]*");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$.])-?\\d+(?:\\.\\d+)?(?![\\w$])");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("(\\bvalues\\s*\\([^()]*\\))(?:\\s*,\\s*\\([^()]*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprints() {
+    }
+
+    static String fingerprint(String sql) {
+        String normalized = BLOCK_COMMENT.matcher(sql).replaceAll(" ");
+        normalized = LINE_COMMENT.matcher(normalized).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (...)");
+        return VALUES_ROWS.matcher(normalized).replaceAll("$1, ...");
+    }
+
+    /**
+     * Short stable id of a fingerprint, used as a metric tag.
+     */
+    static String id(String fingerprint) {
+        return String.format("%08x", fingerprint.hashCode());
+    }
+
+    static String operation(String fingerprint) {
+        int end = fingerprint.indexOf(' ');
+        String keyword = end > 0 ? fingerprint.substring(0, end) : fingerprint;
+        return switch (keyword) {
+            case "select", "insert", "update", "delete", "with", "merge" -> keyword;
+            default -> "other";
+        };
+    }
+}
@@ -0,0 +1,284 @@
+package com.ats.monitoring;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-fingerprint SQL statistics: execution count, total and maximum time, a latency
+ * histogram ({@code ats.sql.statement}, tagged by fingerprint id and operation), and the
+ * endpoints that ran the statement. Statements run during an HTTP request are attributed
+ * to its mapped endpoint pattern (see {@link SqlTraceFilter}); anything else counts as
+ * {@value #BACKGROUND}.
+ * <p>
+ * Statements slower than {@code app.sql.slow-threshold-ms} are logged as they finish. A
+ * request that runs the same fingerprint {@code app.sql.n-plus-one-threshold} times or more
+ * is logged as a likely N+1, at most once per endpoint and fingerprint every ten minutes.
+ * Distinct fingerprints are capped at {@code app.sql.max-fingerprints}; the rest are pooled
+ * under {@value #OTHER}.
+ */
+@Component
+public class SqlStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatistics.class);
+
+    static final String BACKGROUND = "background";
+    static final String OTHER = "other";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.sql.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql.slow-threshold-ms:250}")
+    private long slowThresholdMs;
+
+    @Value("${app.sql.n-plus-one-threshold:20}")
+    private int nPlusOneThreshold;
+
+    @Value("${app.sql.max-fingerprints:500}")
+    private int maxFingerprints;
+
+    // Raw SQL to fingerprint; Hibernate reuses the same strings, so this is mostly hits
+    private final Cache<String, String> fingerprintCache = Caffeine.newBuilder().maximumSize(5000).build();
+
+    private final ConcurrentHashMap<String, FingerprintStats> fingerprints = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    // Endpoint and fingerprint pairs recently reported as N+1
+    private final Cache<String, Boolean> reportedNPlusOne = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .maximumSize(1000)
+            .build();
+
+    private final ThreadLocal<Trace> currentTrace = new ThreadLocal<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    void record(String sql, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        FingerprintStats stats = statsFor(fingerprintCache.get(sql, SqlFingerprints::fingerprint));
+        stats.record(nanos);
+
+        Trace trace = currentTrace.get();
+        if (trace != null) {
+            trace.add(stats, nanos);
+        } else {
+            stats.attribute(BACKGROUND, 1);
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (millis >= slowThresholdMs) {
+            stats.slow.increment();
+            logger.warn("Slow SQL [{}] {} ms during {}: {}", stats.id, millis,
+                    trace != null ? trace.request : BACKGROUND, stats.fingerprint);
+        }
+    }
+
+    void begin(String request) {
+        if (enabled) {
+            currentTrace.set(new Trace(request));
+        }
+    }
+
+    void finish(String endpoint) {
+        Trace trace = currentTrace.get();
+        if (trace == null) {
+            return;
+        }
+        currentTrace.remove();
+
+        endpoints.computeIfAbsent(endpoint, EndpointStats::new).record(trace.statements, trace.nanos);
+        DistributionSummary.builder("ats.sql.statements.per.request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(trace.statements);
+
+        for (Map.Entry<FingerprintStats, int[]> entry : trace.executions.entrySet()) {
+            FingerprintStats stats = entry.getKey();
+            int count = entry.getValue()[0];
+            stats.attribute(endpoint, count);
+            if (count >= nPlusOneThreshold && stats != fingerprints.get(OTHER)) {
+                stats.nPlusOneRequests.increment();
+                if (reportedNPlusOne.asMap().putIfAbsent(endpoint + " " + stats.id, true) == null) {
+                    logger.warn("Possible N+1 on {}: [{}] ran {} times in one request ({}): {}",
+                            endpoint, stats.id, count, trace.request, stats.fingerprint);
+                }
+            }
+        }
+    }
+
+    /**
+     * The {@code limit} fingerprints with the most total time, and per-endpoint statement
+     * counts, busiest first.
+     */
+    public Map<String, Object> snapshot(int limit) {
+        List<Map<String, Object>> topFingerprints = fingerprints.values().stream()
+                .sorted(Comparator.comparingLong((FingerprintStats s) -> s.totalNanos.sum()).reversed())
+                .limit(limit)
+                .map(FingerprintStats::toMap)
+                .toList();
+        List<Map<String, Object>> endpointStats = endpoints.values().stream()
+                .sorted(Comparator.comparingLong((EndpointStats s) -> s.statements.sum()).reversed())
+                .map(EndpointStats::toMap)
+                .toList();
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("slowThresholdMs", slowThresholdMs);
+        snapshot.put("nPlusOneThreshold", nPlusOneThreshold);
+        snapshot.put("distinctFingerprints", fingerprints.size());
+        snapshot.put("fingerprints", topFingerprints);
+        snapshot.put("endpoints", endpointStats);
+        return snapshot;
+    }
+
+    public void reset() {
+        fingerprints.clear();
+        endpoints.clear();
+        reportedNPlusOne.invalidateAll();
+    }
+
+    private FingerprintStats statsFor(String fingerprint) {
+        FingerprintStats stats = fingerprints.get(fingerprint);
+        if (stats != null) {
+            return stats;
+        }
+        if (fingerprints.size() >= maxFingerprints) {
+            return fingerprints.computeIfAbsent(OTHER, this::newStats);
+        }
+        return fingerprints.computeIfAbsent(fingerprint, this::newStats);
+    }
+
+    private FingerprintStats newStats(String fingerprint) {
+        String id = fingerprint.equals(OTHER) ? OTHER : SqlFingerprints.id(fingerprint);
+        Timer timer = Timer.builder("ats.sql.statement")
+                .tag("fingerprint", id)
+                .tag("operation", SqlFingerprints.operation(fingerprint))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+        return new FingerprintStats(fingerprint, id, timer);
+    }
+
+    /**
+     * Statements run by the request on this thread, counted per fingerprint.
+     */
+    private static class Trace {
+
+        private final String request;
+        private final Map<FingerprintStats, int[]> executions = new HashMap<>();
+        private int statements;
+        private long nanos;
+
+        Trace(String request) {
+            this.request = request;
+        }
+
+        void add(FingerprintStats stats, long elapsed) {
+            executions.computeIfAbsent(stats, k -> new int[1])[0]++;
+            statements++;
+            nanos += elapsed;
+        }
+    }
+
+    private static class FingerprintStats {
+
+        private final String fingerprint;
+        private final String id;
+        private final Timer timer;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder nPlusOneRequests = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> byEndpoint = new ConcurrentHashMap<>();
+
+        FingerprintStats(String fingerprint, String id, Timer timer) {
+            this.fingerprint = fingerprint;
+            this.id = id;
+            this.timer = timer;
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        void attribute(String endpoint, int executions) {
+            byEndpoint.computeIfAbsent(endpoint, k -> new LongAdder()).add(executions);
+        }
+
+        Map<String, Object> toMap() {
+            long executions = count.sum();
+            long total = totalNanos.sum();
+            Map<String, Object> endpointCounts = new TreeMap<>();
+            byEndpoint.forEach((endpoint, adder) -> endpointCounts.put(endpoint, adder.sum()));
+
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", id);
+            map.put("sql", fingerprint);
+            map.put("count", executions);
+            map.put("totalMs", total / 1_000_000.0);
+            map.put("meanMs", executions > 0 ? total / 1_000_000.0 / executions : 0);
+            map.put("maxMs", maxNanos.get() / 1_000_000.0);
+            map.put("slowCount", slow.sum());
+            map.put("nPlusOneRequests", nPlusOneRequests.sum());
+            map.put("endpoints", endpointCounts);
+            return map;
+        }
+    }
+
+    private static class EndpointStats {
+
+        private final String endpoint;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void record(int requestStatements, long nanos) {
+            requests.increment();
+            statements.add(requestStatements);
+            totalNanos.add(nanos);
+            maxStatements.accumulateAndGet(requestStatements, Math::max);
+        }
+
+        Map<String, Object> toMap() {
+            long requestCount = requests.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("endpoint", endpoint);
+            map.put("requests", requestCount);
+            map.put("statements", statements.sum());
+            map.put("statementsPerRequest", requestCount > 0 ? (double) statements.sum() / requestCount : 0);
+            map.put("maxStatementsPerRequest", maxStatements.get());
+            map.put("sqlMsPerRequest", requestCount > 0 ? totalNanos.sum() / 1_000_000.0 / requestCount : 0);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ats.monitoring;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/sqlstats}: the costliest SQL fingerprints with the endpoints that run
+ * them, and statements per request for each endpoint. {@code DELETE} starts over.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @ReadOperation
+    public Map<String, Object> sqlStats(@Nullable Integer limit) {
+        return sqlStatistics.snapshot(limit != null ? Math.max(1, limit) : 50);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlStatistics.reset();
+    }
+}
@@ -0,0 +1,43 @@
+package com.ats.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens an SQL trace around each request, ahead of security so the token filter's
+ * lookups are included. The endpoint is the handler's mapped pattern (e.g.
+ * {@code GET /api/jobs/{id}}), known once the request has been dispatched.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlTraceFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private SqlStatistics sqlStatistics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!sqlStatistics.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        sqlStatistics.begin(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            sqlStatistics.finish(pattern != null ? request.getMethod() + " " + pattern : "unmapped");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ats.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@code dataSource} bean so every statement is fingerprinted and
+ * timed by {@link SqlStatistics}. Only that bean is wrapped: it is what Hibernate and the
+ * JDBC templates use, and the pools behind it keep their own types for injection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTracingConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlTracingDataSourcePostProcessor(ObjectProvider<SqlStatistics> sqlStatistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return SqlTracingProxies.dataSource(dataSource, SingletonSupplier.of(sqlStatistics::getObject));
+                }
+                return bean;
+            }
+        };
+    }
+}
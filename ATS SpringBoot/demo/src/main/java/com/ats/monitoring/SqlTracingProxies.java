@@ -0,0 +1,90 @@
+package com.ats.monitoring;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+/**
+ * JDK proxies over a {@link DataSource} and the connections and statements it hands out,
+ * timing every {@code execute*} call and reporting it to {@link SqlStatistics}. Only the
+ * execution is timed, not reading the result set. {@code unwrap} reaches the driver objects
+ * as before, untraced.
+ */
+final class SqlTracingProxies {
+
+    private SqlTracingProxies() {
+    }
+
+    static DataSource dataSource(DataSource target, Supplier<SqlStatistics> statistics) {
+        return proxy(DataSource.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection && method.getName().equals("getConnection")
+                    ? connection(connection, statistics) : result;
+        });
+    }
+
+    private static Connection connection(Connection target, Supplier<SqlStatistics> statistics) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                // prepareStatement/prepareCall carry the SQL; createStatement passes it on execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return statement(method.getReturnType(), statement, sql, (Connection) proxy, statistics);
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T statement(Class<T> type, Statement target, String preparedSql, Connection connection,
+                                   Supplier<SqlStatistics> statistics) {
+        String[] batchSql = new String[1];
+        return proxy(type, (T) target, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (name.equals("addBatch") && args != null && args.length == 1 && args[0] instanceof String s) {
+                batchSql[0] = s;
+            }
+            if (!name.startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s
+                    : preparedSql != null ? preparedSql : batchSql[0];
+            long start = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                if (sql != null) {
+                    statistics.get().record(sql, System.nanoTime() - start);
+                }
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlTracingProxies.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    // Identity semantics, so transaction resources keyed by these objects still match
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "Traced " + target;
+                    default -> handler.invoke(proxy, method, args);
+                });
+    }
+}
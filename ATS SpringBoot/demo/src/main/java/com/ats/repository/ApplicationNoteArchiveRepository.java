@@ -0,0 +1,13 @@
+package com.ats.repository;
+
+import com.ats.entity.ApplicationNoteArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ApplicationNoteArchiveRepository extends JpaRepository<ApplicationNoteArchive, Long> {
+
+    @Query("SELECT COALESCE(SUM(a.noteCount), 0) FROM ApplicationNoteArchive a")
+    long sumNoteCount();
+}
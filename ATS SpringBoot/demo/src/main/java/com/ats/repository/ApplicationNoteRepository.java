@@ -1,7 +1,10 @@
 package com.ats.repository;
 
+import com.ats.entity.Application;
 import com.ats.entity.ApplicationNote;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -35,11 +38,29 @@ public interface ApplicationNoteRepository extends JpaRepository<ApplicationNote
 
     List<ApplicationNote> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime startDate, LocalDateTime endDate);
 
-    List<ApplicationNote> findByContentContainingIgnoreCaseOrderByCreatedAtDesc(String searchTerm);
-
     long countByCreatedById(Long userId);
 
     long countByNoteType(ApplicationNote.NoteType noteType);
 
     List<ApplicationNote> findByScheduledFollowUpBetweenOrderByScheduledFollowUpAsc(LocalDateTime startDate, LocalDateTime endDate);
-}
\ No newline at end of file
+
+    List<ApplicationNote> findByCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDesc(LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT a.id FROM Application a WHERE a.status IN :statuses " +
+           "AND EXISTS (SELECT n.id FROM ApplicationNote n WHERE n.application = a) " +
+           "AND NOT EXISTS (SELECT n.id FROM ApplicationNote n WHERE n.application = a AND n.createdAt >= :cutoff) " +
+           "AND a.id > :afterId AND MOD(a.id, :shardCount) = :shardIndex ORDER BY a.id")
+    List<Long> findArchivableApplicationIds(@Param("statuses") List<Application.ApplicationStatus> statuses,
+                                            @Param("cutoff") LocalDateTime cutoff,
+                                            @Param("afterId") long afterId,
+                                            @Param("shardCount") long shardCount,
+                                            @Param("shardIndex") long shardIndex,
+                                            Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ApplicationNote n WHERE n.application.id = :applicationId")
+    int deleteByApplicationId(@Param("applicationId") Long applicationId);
+
+    @Query("SELECT n.id, n.application.id, n.scheduledFollowUp FROM ApplicationNote n WHERE n.scheduledFollowUp IS NOT NULL")
+    List<Object[]> findFollowUpSchedule();
+}
@@ -4,11 +4,13 @@ import com.ats.entity.Application;
 import com.ats.entity.Candidate;
 import com.ats.entity.Job;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +21,9 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
 
     List<Application> findByJobId(Long jobId);
 
+    @Query("SELECT a FROM Application a JOIN FETCH a.candidate JOIN FETCH a.job j LEFT JOIN FETCH j.company WHERE a.id IN :ids")
+    List<Application> findAllWithCandidateAndJobByIdIn(@Param("ids") Collection<Long> ids);
+
     List<Application> findByCandidateId(Long candidateId);
 
     List<Application> findByStatus(Application.ApplicationStatus status);
@@ -44,6 +49,17 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
 
     Optional<Application> findByCandidateIdAndJobId(Long candidateId, Long jobId);
 
+    Optional<Application> findByIdempotencyKey(String idempotencyKey);
+
+    @Modifying
+    @Query(value = "INSERT INTO applications (candidate_id, job_id, status, idempotency_key, version, applied_at, created_at, updated_at) " +
+                   "VALUES (:candidateId, :jobId, 'APPLIED', :idempotencyKey, 0, :now, :now, :now) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("candidateId") Long candidateId,
+                       @Param("jobId") Long jobId,
+                       @Param("idempotencyKey") String idempotencyKey,
+                       @Param("now") LocalDateTime now);
+
     List<Application> findByJobIdAndStatus(Long jobId, Application.ApplicationStatus status);
 
     List<Application> findByCandidateIdAndStatus(Long candidateId, Application.ApplicationStatus status);
@@ -91,4 +107,22 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
            "GROUP BY YEAR(a.updatedAt), MONTH(a.updatedAt) " +
            "ORDER BY YEAR(a.updatedAt), MONTH(a.updatedAt)")
     List<Object[]> getMonthlyHireTrends(@Param("since") LocalDateTime since);
-}
\ No newline at end of file
+
+    /**
+     * Pipeline board rows for one job: the newest {@code cardsPerStage} applications of
+     * every status, each carrying its stage total, ordered by status then recency.
+     */
+    @Query(value = "SELECT r.status, r.stage_count, r.id, r.candidate_id, c.first_name, c.last_name, " +
+                   "r.rating, r.last_contact_date, r.applied_at " +
+                   "FROM (SELECT a.id, a.status, a.candidate_id, a.rating, a.last_contact_date, a.applied_at, " +
+                   "ROW_NUMBER() OVER (PARTITION BY a.status ORDER BY a.applied_at DESC, a.id DESC) AS rn, " +
+                   "COUNT(*) OVER (PARTITION BY a.status) AS stage_count " +
+                   "FROM applications a WHERE a.job_id = :jobId) r " +
+                   "JOIN candidates c ON c.id = r.candidate_id " +
+                   "WHERE r.rn <= :cardsPerStage " +
+                   "ORDER BY r.status, r.rn", nativeQuery = true)
+    List<Object[]> findPipelineRows(@Param("jobId") Long jobId, @Param("cardsPerStage") int cardsPerStage);
+
+    @Query("SELECT a.id, a.followUpDate FROM Application a WHERE a.followUpDate IS NOT NULL AND a.status <> :excluded")
+    List<Object[]> findFollowUpSchedule(@Param("excluded") Application.ApplicationStatus excluded);
+}
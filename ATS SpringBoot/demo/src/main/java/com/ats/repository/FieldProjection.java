@@ -0,0 +1,129 @@
+package com.ats.repository;
+
+import com.ats.entity.Application;
+import com.ats.entity.Candidate;
+import com.ats.entity.Company;
+import com.ats.entity.Job;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+
+/**
+ * Fields a list endpoint can return through {@code ?fields=}, each mapped to the entity
+ * path(s) it is selected from. Names follow the corresponding DTOs; a field with two
+ * paths is their space-separated concatenation (e.g. first and last name).
+ */
+public final class FieldProjection<T> {
+
+    public static final FieldProjection<Application> APPLICATION = new FieldProjection<>(Application.class, "applications")
+            .field("id", "id")
+            .field("candidateId", "candidate.id")
+            .field("candidateName", "candidate.firstName", "candidate.lastName")
+            .field("candidateEmail", "candidate.email")
+            .field("jobId", "job.id")
+            .field("jobTitle", "job.title")
+            .field("companyName", "job.company.name")
+            .field("status", "status")
+            .field("rating", "rating")
+            .field("appliedAt", "appliedAt")
+            .field("lastContactDate", "lastContactDate")
+            .field("followUpDate", "followUpDate")
+            .field("version", "version");
+
+    public static final FieldProjection<Candidate> CANDIDATE = new FieldProjection<>(Candidate.class, "candidates")
+            .field("id", "id")
+            .field("firstName", "firstName")
+            .field("lastName", "lastName")
+            .field("email", "email")
+            .field("phone", "phone")
+            .field("location", "location")
+            .field("linkedinUrl", "linkedinUrl")
+            .field("skills", "skills")
+            .field("experienceYears", "experienceYears")
+            .field("currentJobTitle", "currentJobTitle")
+            .field("currentCompany", "currentCompany")
+            .field("summary", "summary")
+            .field("resumeUrl", "resumeUrl")
+            .field("createdAt", "createdAt");
+
+    public static final FieldProjection<Job> JOB = new FieldProjection<>(Job.class, "jobs")
+            .field("id", "id")
+            .field("title", "title")
+            .field("description", "description")
+            .field("requirements", "requirements")
+            .field("location", "location")
+            .field("jobType", "jobType")
+            .field("status", "status")
+            .field("priority", "priority")
+            .field("minSalary", "minSalary")
+            .field("maxSalary", "maxSalary")
+            .field("deadline", "deadline")
+            .field("companyId", "company.id")
+            .field("companyName", "company.name")
+            .field("assignedRecruiterId", "assignedRecruiter.id")
+            .field("assignedRecruiterName", "assignedRecruiter.firstName", "assignedRecruiter.lastName")
+            .field("version", "version")
+            .field("createdAt", "createdAt");
+
+    public static final FieldProjection<Company> COMPANY = new FieldProjection<>(Company.class, "companies")
+            .field("id", "id")
+            .field("name", "name")
+            .field("description", "description")
+            .field("industry", "industry")
+            .field("location", "location")
+            .field("website", "website")
+            .field("phone", "phone")
+            .field("createdAt", "createdAt");
+
+    private final Class<T> entityClass;
+    private final String resourceName;
+    private final Map<String, List<String>> fields = new LinkedHashMap<>();
+
+    private FieldProjection(Class<T> entityClass, String resourceName) {
+        this.entityClass = entityClass;
+        this.resourceName = resourceName;
+    }
+
+    private FieldProjection<T> field(String name, String... paths) {
+        fields.put(name, List.of(paths));
+        return this;
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    public List<String> getPaths(String field) {
+        return fields.get(field);
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter into the fields to select, in
+     * request order and always starting with {@code id}. The sort may only name listed
+     * fields too, so a request cannot sort by (and join through) arbitrary entity paths
+     * such as collections or unlisted columns.
+     */
+    public Set<String> parse(String fieldsParam, Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!fields.containsKey(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort " + resourceName + " by '" + order.getProperty() +
+                        "', allowed: " + String.join(", ", fields.keySet()));
+            }
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fieldsParam.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!fields.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "' for " + resourceName +
+                        ", allowed: " + String.join(", ", fields.keySet()));
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+}
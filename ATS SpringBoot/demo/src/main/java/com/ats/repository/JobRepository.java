@@ -2,15 +2,19 @@ package com.ats.repository;
 
 import com.ats.entity.Job;
 import com.ats.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,8 +22,12 @@ public interface JobRepository extends JpaRepository<Job, Long> {
 
     List<Job> findByStatus(Job.JobStatus status);
 
+    @Query("SELECT j FROM Job j LEFT JOIN FETCH j.company LEFT JOIN FETCH j.assignedRecruiter WHERE j.id IN :ids")
+    List<Job> findAllWithCompanyByIdIn(@Param("ids") Collection<Long> ids);
+
     List<Job> findByPriority(Job.Priority priority);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Job> findByCompanyId(Long companyId);
 
     List<Job> findByAssignedRecruiter(User assignedRecruiter);
@@ -0,0 +1,98 @@
+package com.ats.repository;
+
+import com.ats.entity.ApplicationNote;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * PostgreSQL full-text search over live note content, served by the
+ * {@code idx_application_notes_content_fts} GIN index. Queries use web-search syntax:
+ * {@code "quoted phrases"}, {@code or}, and {@code -excluded} words, with every other
+ * word required. Results are pages of plain maps with a highlighted {@code snippet}.
+ * Snippets are built only for the page being returned, and pages are slices, so there is
+ * no count of all matches.
+ */
+@Repository
+public class NoteSearchRepository {
+
+    // Must match the index expression exactly for the planner to use it
+    private static final String DOCUMENT = "to_tsvector('english', n.content)";
+
+    // Content is HTML-escaped before highlighting so only the <mark> tags are markup
+    private static final String SNIPPET = "ts_headline('english', " +
+            "replace(replace(replace(m.content, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), q.query, " +
+            "'StartSel=<mark>, StopSel=</mark>, MaxWords=30, MinWords=10, MaxFragments=2, FragmentDelimiter=\" … \"')";
+
+    public enum Order { RELEVANCE, RECENT }
+
+    public record Criteria(String query, ApplicationNote.NoteType noteType, Long authorId, Long applicationId,
+                           LocalDateTime since, Order order) {}
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Slice<Map<String, Object>> search(Criteria criteria, Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", criteria.query())
+                .addValue("limit", pageable.getPageSize() + 1)
+                .addValue("offset", pageable.getOffset());
+
+        StringBuilder where = new StringBuilder(DOCUMENT + " @@ q.query");
+        if (criteria.noteType() != null) {
+            where.append(" AND n.note_type = :noteType");
+            params.addValue("noteType", criteria.noteType().name());
+        }
+        if (criteria.authorId() != null) {
+            where.append(" AND n.created_by_id = :authorId");
+            params.addValue("authorId", criteria.authorId());
+        }
+        if (criteria.applicationId() != null) {
+            where.append(" AND n.application_id = :applicationId");
+            params.addValue("applicationId", criteria.applicationId());
+        }
+        if (criteria.since() != null) {
+            // Also prunes the monthly partitions before the date
+            where.append(" AND n.created_at >= :since");
+            params.addValue("since", criteria.since());
+        }
+        String orderBy = criteria.order() == Order.RECENT
+                ? "%1$s.created_at DESC, %1$s.id DESC"
+                : "rank DESC, %1$s.created_at DESC, %1$s.id DESC";
+
+        String sql = "WITH q AS (SELECT websearch_to_tsquery('english', :query) AS query) " +
+                "SELECT m.id, m.application_id, m.created_by_id, m.note_type, m.scheduled_follow_up, " +
+                "m.created_at, m.rank, " + SNIPPET + " AS snippet " +
+                "FROM (SELECT n.id, n.application_id, n.created_by_id, n.note_type, n.scheduled_follow_up, " +
+                "n.created_at, n.content, ts_rank_cd(" + DOCUMENT + ", q.query) AS rank " +
+                "FROM application_notes n, q WHERE " + where +
+                " ORDER BY " + orderBy.formatted("n") + " LIMIT :limit OFFSET :offset) m, q " +
+                "ORDER BY " + orderBy.formatted("m");
+
+        List<Map<String, Object>> rows = jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", rs.getLong("id"));
+            row.put("applicationId", rs.getLong("application_id"));
+            row.put("createdById", rs.getLong("created_by_id"));
+            row.put("noteType", rs.getString("note_type"));
+            row.put("scheduledFollowUp", rs.getObject("scheduled_follow_up", LocalDateTime.class));
+            row.put("createdAt", rs.getObject("created_at", LocalDateTime.class));
+            row.put("rank", rs.getDouble("rank"));
+            row.put("snippet", rs.getString("snippet"));
+            return row;
+        });
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(rows, pageable, hasNext);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ats.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * Runs {@link FieldProjection} list queries: only the requested columns are selected,
+ * only the associations they touch are joined, and rows come back as plain maps, so no
+ * entities are loaded and nothing lazy is left for Jackson to walk. Fields and sort
+ * properties must already have been checked by {@link FieldProjection#parse}.
+ */
+@Repository
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> Page<Map<String, Object>> findAll(FieldProjection<T> projection, Set<String> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(projection.getEntityClass());
+        Map<String, From<?, ?>> joins = new HashMap<>();
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields) {
+            selections.add(expression(cb, root, joins, projection.getPaths(field)).alias(field));
+        }
+        query.multiselect(selections);
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            Expression<?> sortExpression = expression(cb, root, joins, projection.getPaths(order.getProperty()));
+            orders.add(order.isAscending() ? cb.asc(sortExpression) : cb.desc(sortExpression));
+        }
+        query.orderBy(orders);
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        countQuery.select(cb.count(countQuery.from(projection.getEntityClass())));
+        long total = entityManager.createQuery(countQuery).getSingleResult();
+
+        return new PageImpl<>(rows, pageable, total);
+    }
+
+    private Expression<?> expression(CriteriaBuilder cb, Root<?> root, Map<String, From<?, ?>> joins, List<String> paths) {
+        if (paths.size() == 1) {
+            return path(root, joins, paths.get(0));
+        }
+        Expression<String> concatenated = path(root, joins, paths.get(0)).as(String.class);
+        for (int i = 1; i < paths.size(); i++) {
+            concatenated = cb.concat(cb.concat(concatenated, " "), path(root, joins, paths.get(i)).as(String.class));
+        }
+        return concatenated;
+    }
+
+    // Association hops become LEFT joins, shared between every field that goes through them
+    private Path<?> path(Root<?> root, Map<String, From<?, ?>> joins, String dottedPath) {
+        String[] parts = dottedPath.split("\\.");
+        if (parts.length == 2 && parts[1].equals("id") && !joins.containsKey(parts[0] + ".")) {
+            // The foreign key column already holds the id, no join needed
+            return root.get(parts[0]).get("id");
+        }
+        From<?, ?> from = root;
+        StringBuilder joinKey = new StringBuilder();
+        for (int i = 0; i < parts.length - 1; i++) {
+            joinKey.append(parts[i]).append('.');
+            From<?, ?> parent = from;
+            String attribute = parts[i];
+            from = joins.computeIfAbsent(joinKey.toString(), k -> parent.join(attribute, JoinType.LEFT));
+        }
+        return from.get(parts[parts.length - 1]);
+    }
+}
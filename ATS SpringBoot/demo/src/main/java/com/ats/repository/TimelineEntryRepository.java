@@ -0,0 +1,42 @@
+package com.ats.repository;
+
+import com.ats.entity.TimelineEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Long> {
+
+    List<TimelineEntry> findByApplicationIdOrderByOccurredAtDescIdDesc(Long applicationId, Limit limit);
+
+    // Keyset page: entries strictly after the cursor (occurredAt, id) in newest-first order
+    @Query("SELECT t FROM TimelineEntry t WHERE t.applicationId = :applicationId " +
+           "AND (t.occurredAt < :occurredAt OR (t.occurredAt = :occurredAt AND t.id < :id)) " +
+           "ORDER BY t.occurredAt DESC, t.id DESC")
+    List<TimelineEntry> findPageAfter(@Param("applicationId") Long applicationId,
+                                      @Param("occurredAt") LocalDateTime occurredAt,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    boolean existsByApplicationIdAndEntryType(Long applicationId, TimelineEntry.EntryType entryType);
+
+    @Modifying
+    @Query("UPDATE TimelineEntry t SET t.content = :content, t.noteType = :noteType, t.scheduledAt = :scheduledAt " +
+           "WHERE t.applicationId = :applicationId AND t.entryType = com.ats.entity.TimelineEntry.EntryType.NOTE " +
+           "AND t.sourceId = :noteId")
+    int updateNote(@Param("applicationId") Long applicationId, @Param("noteId") Long noteId,
+                   @Param("content") String content, @Param("noteType") String noteType,
+                   @Param("scheduledAt") LocalDateTime scheduledAt);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.applicationId = :applicationId " +
+           "AND t.entryType = com.ats.entity.TimelineEntry.EntryType.NOTE AND t.sourceId = :noteId")
+    int deleteNote(@Param("applicationId") Long applicationId, @Param("noteId") Long noteId);
+}
@@ -0,0 +1,26 @@
+package com.ats.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code @Scheduled} method as cluster-wide work: each tick runs only on the
+ * node(s) holding the job's lease instead of on every node. With {@code shards > 1} the
+ * work is split into that many partitions spread across live nodes; the method is
+ * invoked once per owned partition and reads it from {@link JobShard#current()}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ClusterJob {
+
+    /**
+     * Lease name, unique across the application.
+     */
+    String value();
+
+    int shards() default 1;
+}
@@ -0,0 +1,43 @@
+package com.ats.scheduling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link ClusterJob} methods once per partition this node holds. Ordered ahead of
+ * {@code @Transactional} so lease bookkeeping stays outside the job's transaction, but after
+ * Spring's {@code ExposeInvocationInterceptor} ({@code HIGHEST_PRECEDENCE + 1}), which
+ * AspectJ advice relies on. The annotation is read from the method rather than bound as an
+ * advice argument, so the advice does not depend on that ordering either.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ClusterJobAspect {
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    @Around("@annotation(com.ats.scheduling.ClusterJob)")
+    public Object runOwnedShards(ProceedingJoinPoint joinPoint) throws Throwable {
+        ClusterJob clusterJob = AnnotationUtils.findAnnotation(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), ClusterJob.class);
+        Object result = null;
+        for (int shard : jobCoordinator.acquireShards(clusterJob.value(), clusterJob.shards())) {
+            JobShard.set(new JobShard(shard, clusterJob.shards()));
+            try {
+                result = joinPoint.proceed();
+            } finally {
+                JobShard.clear();
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,182 @@
+package com.ats.scheduling;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lease-based coordination of background jobs across app nodes. Each job partition is a
+ * row in {@code scheduled_job_leases}; a node runs a partition only while it holds the
+ * unexpired lease for it. Held leases are renewed in the background, so leadership is
+ * sticky between runs, and a node that dies loses its leases after
+ * {@code app.cluster.lease-seconds}, when the next node to tick takes over. Live nodes
+ * heartbeat into {@code cluster_nodes} and each claims at most its fair share of a
+ * sharded job's partitions, handing surplus back when new nodes join.
+ *
+ * <p>Lease expiry is judged by the database clock only, so node clock skew does not matter.
+ * With {@code app.cluster.enabled=false} (single node) every partition runs locally.
+ */
+@Service
+public class JobCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobCoordinator.class);
+
+    private static final String LEASE_UNTIL = "now() + make_interval(secs => ?)";
+
+    private final String nodeId = hostName() + "-" +
+            Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    // jobName -> partitions this node currently holds
+    private final ConcurrentHashMap<String, Set<Integer>> held = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cluster.lease-seconds:30}")
+    private int leaseSeconds;
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Claims or renews this node's share of a job's partitions and returns them in order.
+     * Returns nothing (the job is skipped this tick) if the lease table cannot be reached.
+     */
+    public List<Integer> acquireShards(String jobName, int shards) {
+        if (!enabled) {
+            List<Integer> all = new ArrayList<>(shards);
+            for (int i = 0; i < shards; i++) {
+                all.add(i);
+            }
+            return all;
+        }
+
+        try {
+            int fairShare = Math.ceilDiv(shards, liveNodes());
+            TreeSet<Integer> owned = new TreeSet<>(jdbcTemplate.queryForList(
+                    "UPDATE scheduled_job_leases SET lease_until = " + LEASE_UNTIL +
+                            " WHERE job_name = ? AND owner = ? AND lease_until > now() RETURNING shard",
+                    Integer.class, leaseSeconds, jobName, nodeId));
+
+            // Partitions left over from a larger shard count, then any surplus over our share
+            while (!owned.isEmpty() && (owned.last() >= shards || owned.size() > fairShare)) {
+                release(jobName, owned.pollLast());
+            }
+            // Start at a node-specific offset so nodes don't all race for partition 0
+            int offset = Math.floorMod(nodeId.hashCode(), shards);
+            for (int i = 0; i < shards && owned.size() < fairShare; i++) {
+                int shard = (offset + i) % shards;
+                if (!owned.contains(shard) && tryAcquire(jobName, shard)) {
+                    owned.add(shard);
+                }
+            }
+
+            Set<Integer> previous = held.put(jobName, owned);
+            if (!owned.equals(previous)) {
+                logger.info("Node {} now holds {} of job {} ({} partitions)", nodeId, owned, jobName, shards);
+            }
+            return new ArrayList<>(owned);
+        } catch (DataAccessException e) {
+            logger.error("Could not acquire lease for job {}, skipping this run: {}", jobName, e.getMessage());
+            held.remove(jobName);
+            return List.of();
+        }
+    }
+
+    /**
+     * Single-partition leadership check for jobs that need to do some work on every node
+     * and only part of it on the leader.
+     */
+    public boolean isLeader(String jobName) {
+        return acquireShards(jobName, 1).contains(0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.renew-interval-ms:10000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO cluster_nodes (node_id, last_seen) VALUES (?, now()) " +
+                    "ON CONFLICT (node_id) DO UPDATE SET last_seen = now()", nodeId);
+            int renewed = jdbcTemplate.update("UPDATE scheduled_job_leases SET lease_until = " + LEASE_UNTIL +
+                    " WHERE owner = ? AND lease_until > now()", leaseSeconds, nodeId);
+            int expected = held.values().stream().mapToInt(Set::size).sum();
+            if (renewed < expected) {
+                logger.warn("Node {} lost {} job lease(s) before renewal", nodeId, expected - renewed);
+                held.clear();
+            }
+            jdbcTemplate.update("DELETE FROM cluster_nodes WHERE last_seen < now() - make_interval(secs => ?)",
+                    leaseSeconds * 10);
+        } catch (DataAccessException e) {
+            logger.error("Job lease renewal failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Hands every lease back on shutdown so another node can take over at its next tick
+     * instead of waiting for expiry.
+     */
+    @PreDestroy
+    public void releaseAll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("DELETE FROM scheduled_job_leases WHERE owner = ?", nodeId);
+            jdbcTemplate.update("DELETE FROM cluster_nodes WHERE node_id = ?", nodeId);
+        } catch (DataAccessException e) {
+            logger.warn("Could not release job leases on shutdown: {}", e.getMessage());
+        }
+        held.clear();
+    }
+
+    private boolean tryAcquire(String jobName, int shard) {
+        // Inserts a new lease, renews our own, or takes over an expired one
+        return jdbcTemplate.update(
+                "INSERT INTO scheduled_job_leases (job_name, shard, owner, lease_until) VALUES (?, ?, ?, " + LEASE_UNTIL + ") " +
+                        "ON CONFLICT (job_name, shard) DO UPDATE SET owner = EXCLUDED.owner, lease_until = EXCLUDED.lease_until " +
+                        "WHERE scheduled_job_leases.owner = EXCLUDED.owner OR scheduled_job_leases.lease_until <= now()",
+                jobName, shard, nodeId, leaseSeconds) > 0;
+    }
+
+    private void release(String jobName, int shard) {
+        jdbcTemplate.update("DELETE FROM scheduled_job_leases WHERE job_name = ? AND shard = ? AND owner = ?",
+                jobName, shard, nodeId);
+    }
+
+    private int liveNodes() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cluster_nodes WHERE last_seen > now() - make_interval(secs => ?)",
+                Integer.class, leaseSeconds);
+        return Math.max(1, count != null ? count : 0);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "node";
+        }
+    }
+}
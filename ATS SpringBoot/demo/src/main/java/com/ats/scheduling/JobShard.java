@@ -0,0 +1,29 @@
+package com.ats.scheduling;
+
+/**
+ * The partition of a {@link ClusterJob} being run on this thread. Outside a sharded job
+ * this is the single partition that covers everything.
+ */
+public record JobShard(int index, int count) {
+
+    static final JobShard ALL = new JobShard(0, 1);
+
+    private static final ThreadLocal<JobShard> CURRENT = new ThreadLocal<>();
+
+    public static JobShard current() {
+        JobShard shard = CURRENT.get();
+        return shard != null ? shard : ALL;
+    }
+
+    public boolean owns(long id) {
+        return Math.floorMod(id, count) == index;
+    }
+
+    static void set(JobShard shard) {
+        CURRENT.set(shard);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
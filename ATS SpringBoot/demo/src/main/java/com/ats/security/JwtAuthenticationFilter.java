@@ -1,5 +1,9 @@
 package com.ats.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +11,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +21,9 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -25,30 +33,85 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.jwt.stateless:true}")
+    private boolean stateless;
+
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    private static final List<String> OUTCOMES = List.of("anonymous", "invalid", "revoked", "authenticated", "error");
+
+    // One timer per outcome, registered once rather than looked up on every request
+    private final Map<String, Timer> timers = new HashMap<>();
+
+    @PostConstruct
+    public void registerTimers() {
+        for (String outcome : OUTCOMES) {
+            timers.put(outcome, Timer.builder("ats.auth.jwt.filter")
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                   FilterChain filterChain) throws ServletException, IOException {
+        // Times authentication only, not the rest of the chain
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "anonymous";
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            Claims claims = jwt != null ? jwtUtils.parseClaims(jwt) : null;
+            if (jwt != null && claims == null) {
+                outcome = "invalid";
+            }
+            if (claims != null) {
+                UserPrincipal principal = jwtUtils.getPrincipalFromClaims(claims);
+
+                UserDetails userDetails;
+                if (principal == null) {
+                    // Token issued before role/version claims were embedded
+                    userDetails = principalCache.get(claims.getSubject(), userDetailsService::loadUserByUsername);
+                } else if (!tokenVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion())) {
+                    logger.debug("Rejected revoked token for user {}", principal.getUsername());
+                    stopTimer(sample, "revoked");
+                    filterChain.doFilter(request, response);
+                    return;
+                } else if (stateless) {
+                    userDetails = principal;
+                } else {
+                    userDetails = principalCache.get(principal.getUsername(), userDetailsService::loadUserByUsername);
+                }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                outcome = "authenticated";
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
+            outcome = "error";
         }
+        stopTimer(sample, outcome);
 
         filterChain.doFilter(request, response);
     }
 
+    private void stopTimer(Timer.Sample sample, String outcome) {
+        sample.stop(timers.get(outcome));
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
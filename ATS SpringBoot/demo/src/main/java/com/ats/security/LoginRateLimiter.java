@@ -0,0 +1,103 @@
+package com.ats.security;
+
+import com.ats.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory token buckets for {@code /auth/login}, one per client IP and one per
+ * username, so that neither a single client nor a guessing attack on one account can
+ * flood the password hashing pool. Idle buckets are dropped after ten minutes.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> usernameBuckets;
+    private final int ipCapacity;
+    private final double ipRefillPerSecond;
+    private final int usernameCapacity;
+    private final double usernameRefillPerSecond;
+    private final Counter ipRejected;
+    private final Counter usernameRejected;
+
+    public LoginRateLimiter(@Value("${app.security.login.ip.capacity:20}") int ipCapacity,
+                            @Value("${app.security.login.ip.per-minute:10}") int ipPerMinute,
+                            @Value("${app.security.login.username.capacity:5}") int usernameCapacity,
+                            @Value("${app.security.login.username.per-minute:5}") int usernamePerMinute,
+                            MeterRegistry meterRegistry) {
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSecond = ipPerMinute / 60.0;
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillPerSecond = usernamePerMinute / 60.0;
+        this.ipBuckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.usernameBuckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.ipRejected = Counter.builder("ats.auth.login.rate-limited").tag("key", "ip").register(meterRegistry);
+        this.usernameRejected = Counter.builder("ats.auth.login.rate-limited").tag("key", "username").register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from both buckets or throws {@link RateLimitExceededException}
+     * carrying the number of seconds until the next attempt would be allowed.
+     */
+    public void acquire(String ip, String username) {
+        long ipWait = ipBuckets.get(ip, k -> new TokenBucket(ipCapacity, ipRefillPerSecond)).tryConsume();
+        if (ipWait > 0) {
+            ipRejected.increment();
+            throw new RateLimitExceededException("Too many login attempts from this address", ipWait);
+        }
+        long usernameWait = usernameBuckets.get(username, k -> new TokenBucket(usernameCapacity, usernameRefillPerSecond))
+                .tryConsume();
+        if (usernameWait > 0) {
+            usernameRejected.increment();
+            throw new RateLimitExceededException("Too many login attempts for this account", usernameWait);
+        }
+    }
+
+    private static class TokenBucket {
+        private final int capacity;
+        private final double refillPerNano;
+        private final ReentrantLock lock = new ReentrantLock();
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /**
+         * Returns 0 if a token was taken, otherwise the whole seconds until one is available.
+         */
+        long tryConsume() {
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+                lastRefill = now;
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return 0;
+                }
+                return Math.max(1, (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000_000.0));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
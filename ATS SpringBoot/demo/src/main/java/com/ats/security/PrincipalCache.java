@@ -0,0 +1,78 @@
+package com.ats.security;
+
+import com.ats.service.InvalidationBus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by username, so that
+ * {@link JwtAuthenticationFilter} does not hit the users table on every request.
+ * Entries must be evicted whenever a user's role or password changes; changes made on other
+ * nodes are evicted as they arrive over the {@link InvalidationBus}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> principals;
+
+    // Bumped before every eviction; a load that saw an eviction start does not keep its result
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PrincipalCache(InvalidationBus invalidationBus,
+                          @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // Remote changes carry the user id, the cache is keyed by username
+        invalidationBus.subscribe("User", change -> {
+            evictions.incrementAndGet();
+            if (change.isBulk()) {
+                principals.invalidateAll();
+            } else {
+                principals.asMap().values().removeIf(principal ->
+                        principal instanceof UserPrincipal user && change.id().equals(user.getId()));
+            }
+        });
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        // Load outside the cache's compute lock: a database call inside it would pin the
+        // carrier of a virtual thread. Concurrent misses may load twice, which is harmless.
+        // An eviction that starts while the load runs may have removed the entry before it
+        // was put, so the loaded principal is dropped again rather than cached until TTL.
+        UserDetails principal = principals.getIfPresent(username);
+        if (principal == null) {
+            long generation = evictions.get();
+            principal = loader.apply(username);
+            principals.asMap().putIfAbsent(username, principal);
+            if (evictions.get() != generation) {
+                principals.invalidate(username);
+            }
+        }
+        return principal;
+    }
+
+    public void evict(String username) {
+        evictions.incrementAndGet();
+        principals.invalidate(username);
+    }
+
+    public void evictAll() {
+        evictions.incrementAndGet();
+        principals.invalidateAll();
+    }
+
+    public Cache<String, UserDetails> getCache() {
+        return principals;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ats.security;
+
+import com.ats.repository.UserRepository;
+import com.ats.service.InvalidationBus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In-memory view of each user's current token version, used to revoke stateless JWTs.
+ * A token is accepted only while the version it was issued with matches the user's
+ * {@code token_version}; bumping the column (logout, role or password change) kills every
+ * outstanding token for that user. Local changes apply immediately; changes made on other
+ * nodes arrive over the {@link InvalidationBus}, or once the entry expires if it is off.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final int DELETED = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+
+    public TokenVersionRegistry(UserRepository userRepository,
+                                InvalidationBus invalidationBus,
+                                @Value("${app.security.token-version.max-size:100000}") long maxSize,
+                                @Value("${app.security.token-version.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        invalidationBus.subscribe("User", change -> {
+            if (change.isBulk()) {
+                versions.invalidateAll();
+            } else {
+                versions.invalidate(change.id());
+            }
+        });
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        // Loaded outside the cache's compute lock so virtual threads never pin on the query
+        Integer current = versions.getIfPresent(userId);
+        if (current == null) {
+            current = userRepository.findTokenVersionById(userId).orElse(DELETED);
+            versions.asMap().putIfAbsent(userId, current);
+        }
+        return current == tokenVersion;
+    }
+
+    public void update(Long userId, int tokenVersion) {
+        versions.put(userId, tokenVersion);
+    }
+
+    public void revokeAll(Long userId) {
+        versions.put(userId, DELETED);
+    }
+
+    public Cache<Long, Integer> getCache() {
+        return versions;
+    }
+}
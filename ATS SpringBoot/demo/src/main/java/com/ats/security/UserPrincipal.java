@@ -14,6 +14,7 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
+    private int tokenVersion;
 
     public UserPrincipal(Long id, String username, String email, String password,
                         Collection<? extends GrantedAuthority> authorities) {
@@ -24,6 +25,12 @@ public class UserPrincipal implements UserDetails {
         this.authorities = authorities;
     }
 
+    public UserPrincipal(Long id, String username, String email, String password,
+                        Collection<? extends GrantedAuthority> authorities, int tokenVersion) {
+        this(id, username, email, password, authorities);
+        this.tokenVersion = tokenVersion;
+    }
+
     public static UserPrincipal create(User user) {
         GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().name());
 
@@ -32,10 +39,20 @@ public class UserPrincipal implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
-                Collections.singletonList(authority)
+                Collections.singletonList(authority),
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0
         );
     }
 
+    /**
+     * Principal rebuilt from verified JWT claims. Carries no password or email; the
+     * token itself is the credential.
+     */
+    public static UserPrincipal fromClaims(Long id, String username, String role, int tokenVersion) {
+        GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
+        return new UserPrincipal(id, username, null, null, Collections.singletonList(authority), tokenVersion);
+    }
+
     public Long getId() {
         return id;
     }
@@ -44,6 +61,10 @@ public class UserPrincipal implements UserDetails {
         return email;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
     @Override
     public String getUsername() {
         return username;
@@ -8,6 +8,7 @@ import com.ats.repository.CompanyRepository;
 import com.ats.repository.JobRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -15,6 +16,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class AnalyticsService {
 
     @Autowired
@@ -29,6 +31,9 @@ public class AnalyticsService {
     @Autowired
     private CompanyRepository companyRepository;
 
+    @Autowired
+    private ApplicationService applicationService;
+
     public Map<String, Object> getDashboardStats() {
         Map<String, Object> stats = new HashMap<>();
 
@@ -123,8 +128,7 @@ public class AnalyticsService {
 
     public List<Map<String, Object>> getFollowUpNeeded() {
         LocalDateTime now = LocalDateTime.now();
-        List<Application> followUpApplications = applicationRepository.findByFollowUpDateBeforeAndStatusNot(
-                now, Application.ApplicationStatus.REJECTED);
+        List<Application> followUpApplications = applicationService.getApplicationsRequiringFollowUp(now);
 
         return followUpApplications.stream().map(app -> {
             Map<String, Object> followUp = new HashMap<>();
@@ -5,19 +5,31 @@ import com.ats.entity.Application;
 import com.ats.entity.User;
 import com.ats.repository.ApplicationNoteRepository;
 import com.ats.repository.ApplicationRepository;
+import com.ats.repository.NoteSearchRepository;
 import com.ats.repository.UserRepository;
+import com.ats.service.OptimisticLockRetry.Field;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ApplicationNoteService {
 
+    private static final List<Field<ApplicationNote>> UPDATABLE_FIELDS = List.of(
+            Field.of("content", ApplicationNote::getContent, ApplicationNote::setContent),
+            Field.of("noteType", ApplicationNote::getNoteType, ApplicationNote::setNoteType),
+            Field.of("scheduledFollowUp", ApplicationNote::getScheduledFollowUp, ApplicationNote::setScheduledFollowUp));
+
     @Autowired
     private ApplicationNoteRepository applicationNoteRepository;
 
@@ -27,10 +39,24 @@ public class ApplicationNoteService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Autowired
+    private NoteArchiveService noteArchiveService;
+
+    @Autowired
+    private FollowUpScheduler followUpScheduler;
+
+    @Autowired
+    private NoteSearchRepository noteSearchRepository;
+
+    @Transactional(readOnly = true)
     public List<ApplicationNote> getAllNotes() {
         return applicationNoteRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Page<ApplicationNote> getAllNotes(Pageable pageable) {
         return applicationNoteRepository.findAll(pageable);
     }
@@ -66,15 +92,17 @@ public class ApplicationNoteService {
     }
 
     public ApplicationNote updateNote(Long id, ApplicationNote noteDetails) {
-        ApplicationNote note = applicationNoteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Note not found with id: " + id));
-
-        note.setContent(noteDetails.getContent());
-        note.setNoteType(noteDetails.getNoteType());
-        note.setScheduledFollowUp(noteDetails.getScheduledFollowUp());
-        note.setUpdatedAt(LocalDateTime.now());
+        return updateNote(id, noteDetails, null);
+    }
 
-        return applicationNoteRepository.save(note);
+    public ApplicationNote updateNote(Long id, ApplicationNote noteDetails, Set<Long> expectedVersions) {
+        return optimisticLockRetry.merge("Note", id,
+                () -> applicationNoteRepository.findById(id)
+                        .orElseThrow(() -> new RuntimeException("Note not found with id: " + id)),
+                ApplicationNote::getVersion, expectedVersions, noteDetails, UPDATABLE_FIELDS, note -> {
+                    note.setUpdatedAt(LocalDateTime.now());
+                    return applicationNoteRepository.save(note);
+                });
     }
 
     public void deleteNote(Long id) {
@@ -84,7 +112,15 @@ public class ApplicationNoteService {
     }
 
     public List<ApplicationNote> getNotesByApplication(Long applicationId) {
-        return applicationNoteRepository.findByApplicationIdOrderByCreatedAtDesc(applicationId);
+        List<ApplicationNote> notes = applicationNoteRepository.findByApplicationIdOrderByCreatedAtDesc(applicationId);
+        List<ApplicationNote> archived = noteArchiveService.getArchivedNotes(applicationId);
+        if (archived.isEmpty()) {
+            return notes;
+        }
+        // Archived notes are always older than the live ones, so appending keeps the order
+        List<ApplicationNote> timeline = new ArrayList<>(notes);
+        timeline.addAll(archived);
+        return timeline;
     }
 
     public List<ApplicationNote> getNotesByCreatedBy(Long userId) {
@@ -100,11 +136,14 @@ public class ApplicationNoteService {
     }
 
     public List<ApplicationNote> getNotesWithUpcomingFollowUp(LocalDateTime beforeDate) {
-        return applicationNoteRepository.findByScheduledFollowUpBeforeOrderByScheduledFollowUpAsc(beforeDate);
+        if (!followUpScheduler.isLoaded()) {
+            return applicationNoteRepository.findByScheduledFollowUpBeforeOrderByScheduledFollowUpAsc(beforeDate);
+        }
+        return loadScheduled(followUpScheduler.getDueBefore(FollowUpScheduler.Source.NOTE, beforeDate));
     }
 
     public List<ApplicationNote> getNotesWithOverdueFollowUp() {
-        return applicationNoteRepository.findByScheduledFollowUpBeforeOrderByScheduledFollowUpAsc(LocalDateTime.now());
+        return getNotesWithUpcomingFollowUp(LocalDateTime.now());
     }
 
     public List<ApplicationNote> getRecentNotes(int limit) {
@@ -119,16 +158,23 @@ public class ApplicationNoteService {
         return applicationNoteRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate);
     }
 
-    public List<ApplicationNote> searchNotesContent(String searchTerm) {
-        return applicationNoteRepository.findByContentContainingIgnoreCaseOrderByCreatedAtDesc(searchTerm);
+    /**
+     * Full-text search over live notes; archived notes are not searched.
+     */
+    public Slice<Map<String, Object>> searchNotes(NoteSearchRepository.Criteria criteria, Pageable pageable) {
+        if (criteria.query() == null || criteria.query().isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        return noteSearchRepository.search(criteria, pageable);
     }
 
     public long getTotalNotesCount() {
-        return applicationNoteRepository.count();
+        return applicationNoteRepository.count() + noteArchiveService.getTotalArchivedNotesCount();
     }
 
     public long getNotesCountByApplication(Long applicationId) {
-        return applicationNoteRepository.countByApplicationId(applicationId);
+        return applicationNoteRepository.countByApplicationId(applicationId)
+                + noteArchiveService.getArchivedNotesCount(applicationId);
     }
 
     public long getNotesCountByCreatedBy(Long userId) {
@@ -141,16 +187,24 @@ public class ApplicationNoteService {
 
     public List<ApplicationNote> getNotesToday() {
         LocalDateTime startOfDay = LocalDateTime.now().toLocalDate().atStartOfDay();
-        LocalDateTime endOfDay = startOfDay.plusDays(1).minusSeconds(1);
-        return applicationNoteRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(startOfDay, endOfDay);
+        return applicationNoteRepository.findByCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDesc(
+                startOfDay, startOfDay.plusDays(1));
     }
 
     public List<ApplicationNote> getFollowUpNotesForToday() {
         LocalDateTime startOfDay = LocalDateTime.now().toLocalDate().atStartOfDay();
+        if (followUpScheduler.isLoaded()) {
+            return loadScheduled(followUpScheduler.getDueBetween(FollowUpScheduler.Source.NOTE, startOfDay, startOfDay.plusDays(1)));
+        }
         LocalDateTime endOfDay = startOfDay.plusDays(1).minusSeconds(1);
         return applicationNoteRepository.findByScheduledFollowUpBetweenOrderByScheduledFollowUpAsc(startOfDay, endOfDay);
     }
 
+    private List<ApplicationNote> loadScheduled(List<FollowUpScheduler.FollowUp> followUps) {
+        List<Long> ids = followUps.stream().map(FollowUpScheduler.FollowUp::id).toList();
+        return BatchLoader.load(ids, applicationNoteRepository::findAllById, ApplicationNote::getId).found();
+    }
+
     public ApplicationNote addQuickNote(Long applicationId, Long createdById, String content) {
         return createNote(applicationId, createdById, content, ApplicationNote.NoteType.GENERAL, null);
     }
@@ -1,108 +1,256 @@
 package com.ats.service;
 
 import com.ats.entity.Application;
-import com.ats.entity.Candidate;
-import com.ats.entity.Job;
+import com.ats.exception.DuplicateResourceException;
+import com.ats.exception.ResourceNotFoundException;
 import com.ats.repository.ApplicationRepository;
 import com.ats.repository.CandidateRepository;
+import com.ats.repository.FieldProjection;
 import com.ats.repository.JobRepository;
+import com.ats.repository.ProjectionRepository;
+import com.ats.service.OptimisticLockRetry.Field;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ApplicationService {
 
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    private static final Field<Application> STATUS =
+            Field.of("status", Application::getStatus, Application::setStatus);
+
+    private static final List<Field<Application>> UPDATABLE_FIELDS = List.of(
+            STATUS,
+            Field.of("rating", Application::getRating, Application::setRating),
+            Field.of("followUpDate", Application::getFollowUpDate, Application::setFollowUpDate),
+            Field.of("lastContactDate", Application::getLastContactDate, Application::setLastContactDate));
+
     @Autowired
     private ApplicationRepository applicationRepository;
 
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
+    @Autowired
+    private ChangeTracker changeTracker;
+
+    @Autowired
+    private JobPipelineService jobPipelineService;
+
+    @Autowired
+    private FollowUpScheduler followUpScheduler;
+
+    @Autowired
+    private DomainEventOutbox domainEventOutbox;
+
     @Autowired
     private CandidateRepository candidateRepository;
 
     @Autowired
     private JobRepository jobRepository;
 
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Transactional(readOnly = true)
     public List<Application> getAllApplications() {
         return applicationRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Page<Application> getAllApplications(Pageable pageable) {
         return applicationRepository.findAll(pageable);
     }
 
-    public Optional<Application> getApplicationById(Long id) {
-        return applicationRepository.findById(id);
+    /**
+     * Page of only the requested {@code fields} (see {@link FieldProjection#APPLICATION}).
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllApplications(String fields, Pageable pageable) {
+        return projectionRepository.findAll(FieldProjection.APPLICATION,
+                FieldProjection.APPLICATION.parse(fields, pageable.getSort()), pageable);
     }
 
-    public Application createApplication(Long candidateId, Long jobId) {
-        Candidate candidate = candidateRepository.findById(candidateId)
-                .orElseThrow(() -> new RuntimeException("Candidate not found with id: " + candidateId));
+    @Transactional(readOnly = true)
+    public BatchLoader.Result<Application> getApplicationsByIds(Collection<Long> ids) {
+        return BatchLoader.load(ids, applicationRepository::findAllWithCandidateAndJobByIdIn, Application::getId);
+    }
 
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found with id: " + jobId));
+    public Optional<Application> getApplicationById(Long id) {
+        Optional<Application> application = applicationRepository.findById(id);
+        application.ifPresent(found -> changeTracker.rememberVersion("Application", id, found.getVersion()));
+        return application;
+    }
 
-        // Check if application already exists
-        if (applicationRepository.existsByCandidateIdAndJobId(candidateId, jobId)) {
-            throw new RuntimeException("Application already exists for this candidate and job");
+    /**
+     * The application's current version when it is known without a query, else {@code null}.
+     */
+    public Long getKnownApplicationVersion(Long id) {
+        return changeTracker.knownVersion("Application", id);
+    }
+
+    /**
+     * Creates the application with a single {@code INSERT ... ON CONFLICT DO NOTHING}, so
+     * concurrent applies for the same candidate and job cannot race past each other.
+     * A retry carrying an already-seen idempotency key returns the original application.
+     */
+    @Transactional
+    public Application createApplication(Long candidateId, Long jobId, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            Optional<Application> replayed = applicationRepository.findByIdempotencyKey(idempotencyKey);
+            if (replayed.isPresent()) {
+                return replayed.get();
+            }
         }
 
-        Application application = new Application();
-        application.setCandidate(candidate);
-        application.setJob(job);
-        application.setStatus(Application.ApplicationStatus.APPLIED);
-        application.setAppliedAt(LocalDateTime.now());
-        application.setCreatedAt(LocalDateTime.now());
-        application.setUpdatedAt(LocalDateTime.now());
+        int inserted;
+        try {
+            inserted = applicationRepository.insertIfAbsent(candidateId, jobId, idempotencyKey, LocalDateTime.now());
+            if (inserted > 0) {
+                changeTracker.touchAfterCommit("Application");
+                changeTracker.afterCommit(() -> jobPipelineService.evict(jobId));
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (!FOREIGN_KEY_VIOLATION.equals(sqlState(e))) {
+                throw e;
+            }
+            throw new ResourceNotFoundException(
+                    "Candidate " + candidateId + " or job " + jobId + " does not exist");
+        }
 
-        return applicationRepository.save(application);
+        Optional<Application> existing = applicationRepository.findByCandidateIdAndJobId(candidateId, jobId);
+        if (inserted == 1) {
+            Application created = existing.orElseThrow();
+            // The native insert bypasses Hibernate, so the outbox is not fed automatically
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("candidateId", candidateId);
+            payload.put("jobId", jobId);
+            payload.put("status", created.getStatus().name());
+            domainEventOutbox.record("Application", created.getId(), DomainEvent.CREATED, payload);
+            return created;
+        }
+        if (existing.isPresent() && idempotencyKey != null && idempotencyKey.equals(existing.get().getIdempotencyKey())) {
+            return existing.get();
+        }
+        if (existing.isPresent()) {
+            throw new DuplicateResourceException("Application already exists for this candidate and job");
+        }
+        throw new DuplicateResourceException("Application", "idempotencyKey", idempotencyKey);
     }
 
+    /**
+     * Inserts the application in its own transaction and lets the unique constraints decide
+     * races. When the insert loses to a concurrent request carrying the same idempotency key,
+     * the winner's row is read back and returned; the read runs after the failed transaction
+     * has rolled back, since PostgreSQL rejects statements in an aborted transaction.
+     */
     public Application createApplication(Application application) {
-        // Check if application already exists
-        if (applicationRepository.existsByCandidateIdAndJobId(
-                application.getCandidate().getId(),
-                application.getJob().getId())) {
-            throw new RuntimeException("Application already exists for this candidate and job");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String idempotencyKey = application.getIdempotencyKey();
+        if (idempotencyKey != null) {
+            Optional<Application> replayed = transactionTemplate.execute(
+                    status -> applicationRepository.findByIdempotencyKey(idempotencyKey));
+            if (replayed.isPresent()) {
+                return replayed.get();
+            }
         }
 
-        application.setAppliedAt(LocalDateTime.now());
-        application.setCreatedAt(LocalDateTime.now());
-        application.setUpdatedAt(LocalDateTime.now());
-
-        if (application.getStatus() == null) {
-            application.setStatus(Application.ApplicationStatus.APPLIED);
+        try {
+            return transactionTemplate.execute(status -> {
+                // Reference proxies avoid loading the candidate and job; the unique and foreign key
+                // constraints are the source of truth and are surfaced by the flush below.
+                application.setCandidate(candidateRepository.getReferenceById(application.getCandidate().getId()));
+                application.setJob(jobRepository.getReferenceById(application.getJob().getId()));
+                application.setAppliedAt(LocalDateTime.now());
+                application.setCreatedAt(LocalDateTime.now());
+                application.setUpdatedAt(LocalDateTime.now());
+
+                if (application.getStatus() == null) {
+                    application.setStatus(Application.ApplicationStatus.APPLIED);
+                }
+                return applicationRepository.saveAndFlush(application);
+            });
+        } catch (DataIntegrityViolationException e) {
+            String sqlState = sqlState(e);
+            if (FOREIGN_KEY_VIOLATION.equals(sqlState)) {
+                throw new ResourceNotFoundException("Candidate or job for this application does not exist");
+            }
+            if (!UNIQUE_VIOLATION.equals(sqlState)) {
+                throw e;
+            }
+            if (idempotencyKey != null) {
+                Optional<Application> replayed = transactionTemplate.execute(
+                        status -> applicationRepository.findByIdempotencyKey(idempotencyKey));
+                if (replayed.isPresent()) {
+                    return replayed.get();
+                }
+            }
+            throw new DuplicateResourceException("Application already exists for this candidate and job");
         }
+    }
 
-        return applicationRepository.save(application);
+    // Spring wraps the driver's exception in different translated types depending on the
+    // path (DuplicateKeyException, DataIntegrityViolationException), so match on SQLState
+    private static String sqlState(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
     }
 
     public Application updateApplication(Long id, Application applicationDetails) {
-        Application application = applicationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Application not found with id: " + id));
-
-        application.setStatus(applicationDetails.getStatus());
-        application.setRating(applicationDetails.getRating());
-        application.setFollowUpDate(applicationDetails.getFollowUpDate());
-        application.setLastContactDate(applicationDetails.getLastContactDate());
-        application.setUpdatedAt(LocalDateTime.now());
+        return updateApplication(id, applicationDetails, null);
+    }
 
-        return applicationRepository.save(application);
+    public Application updateApplication(Long id, Application applicationDetails, Set<Long> expectedVersions) {
+        return optimisticLockRetry.merge("Application", id, () -> findApplication(id), Application::getVersion,
+                expectedVersions, applicationDetails, UPDATABLE_FIELDS, application -> {
+                    application.setUpdatedAt(LocalDateTime.now());
+                    return applicationRepository.save(application);
+                });
     }
 
     public Application updateApplicationStatus(Long id, Application.ApplicationStatus status) {
-        Application application = applicationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Application not found with id: " + id));
+        return updateApplicationStatus(id, status, null);
+    }
 
-        application.setStatus(status);
-        application.setLastContactDate(LocalDateTime.now());
-        application.setUpdatedAt(LocalDateTime.now());
+    public Application updateApplicationStatus(Long id, Application.ApplicationStatus status, Set<Long> expectedVersions) {
+        Application changes = new Application();
+        changes.setStatus(status);
+        return optimisticLockRetry.merge("Application", id, () -> findApplication(id), Application::getVersion,
+                expectedVersions, changes, List.of(STATUS), application -> {
+                    application.setLastContactDate(LocalDateTime.now());
+                    application.setUpdatedAt(LocalDateTime.now());
+                    return applicationRepository.save(application);
+                });
+    }
 
-        return applicationRepository.save(application);
+    private Application findApplication(Long id) {
+        return applicationRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Application not found with id: " + id));
     }
 
     public void deleteApplication(Long id) {
@@ -124,17 +272,21 @@ public class ApplicationService {
     }
 
     public List<Application> getApplicationsRequiringFollowUp() {
-        return applicationRepository.findByFollowUpDateBeforeAndStatusNot(
-                LocalDateTime.now(),
-                Application.ApplicationStatus.REJECTED
-        );
+        return getApplicationsRequiringFollowUp(LocalDateTime.now());
     }
 
+    @Transactional(readOnly = true)
     public List<Application> getApplicationsRequiringFollowUp(LocalDateTime date) {
-        return applicationRepository.findByFollowUpDateBeforeAndStatusNot(
-                date,
-                Application.ApplicationStatus.REJECTED
-        );
+        if (!followUpScheduler.isLoaded()) {
+            return applicationRepository.findByFollowUpDateBeforeAndStatusNot(
+                    date,
+                    Application.ApplicationStatus.REJECTED
+            );
+        }
+        List<Long> ids = followUpScheduler.getDueBefore(FollowUpScheduler.Source.APPLICATION, date).stream()
+                .map(FollowUpScheduler.FollowUp::id)
+                .toList();
+        return BatchLoader.load(ids, applicationRepository::findAllWithCandidateAndJobByIdIn, Application::getId).found();
     }
 
     public List<Application> getApplicationsByJobAndStatus(Long jobId, Application.ApplicationStatus status) {
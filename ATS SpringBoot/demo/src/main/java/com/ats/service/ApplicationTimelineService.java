@@ -0,0 +1,296 @@
+package com.ats.service;
+
+import com.ats.entity.Application;
+import com.ats.entity.ApplicationNote;
+import com.ats.entity.TimelineEntry;
+import com.ats.exception.ResourceNotFoundException;
+import com.ats.repository.ApplicationNoteRepository;
+import com.ats.repository.ApplicationRepository;
+import com.ats.repository.TimelineEntryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-application timeline read model. Entries are appended from {@link DomainEvent}s as
+ * the outbox relays them: the application being created, notes (kept in step with edits
+ * and deletes), status transitions, and contact and follow-up dates being set. Reads are
+ * keyset-paged newest first, and the first page of recently viewed applications is cached.
+ * <p>
+ * Applications that predate the read model are backfilled on first read from the
+ * application row and its live and archived notes; their earlier status transitions
+ * were never recorded and cannot be recovered.
+ */
+@Service
+public class ApplicationTimelineService {
+
+    private static final String INSERT_SQL = "INSERT INTO application_timeline " +
+            "(application_id, entry_type, source_id, occurred_at, actor_id, note_type, from_status, to_status, scheduled_at, content) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (application_id, entry_type, source_id) DO NOTHING";
+
+    public record Page(List<TimelineEntry> entries, String nextCursor) {}
+
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ApplicationNoteRepository applicationNoteRepository;
+
+    @Autowired
+    private NoteArchiveService noteArchiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private ChangeTracker changeTracker;
+
+    @Value("${app.timeline.cache.max-applications:5000}")
+    private long cacheMaxApplications;
+
+    @Value("${app.timeline.cache.page-size:50}")
+    private int cachedPageSize;
+
+    @Value("${app.timeline.cache.max-staleness-seconds:60}")
+    private long cacheMaxStalenessSeconds;
+
+    // First page per application, for the busiest timelines
+    private Cache<Long, List<TimelineEntry>> firstPages;
+
+    // Bumped on every eviction, so a page read before a commit is not cached after it
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(cacheMaxApplications);
+        if (invalidationBus.isEnabled()) {
+            builder.expireAfterAccess(Duration.ofMinutes(10));
+        } else {
+            // Another node may relay the event and append the entry; without the bus nothing
+            // tells this one, so bound how long its cached page can miss it
+            builder.expireAfterWrite(Duration.ofSeconds(cacheMaxStalenessSeconds));
+        }
+        firstPages = builder.build();
+        // Entries are appended on whichever node relays the outbox
+        invalidationBus.subscribe("ApplicationTimeline", change -> {
+            evictions.incrementAndGet();
+            if (change.isBulk()) {
+                firstPages.invalidateAll();
+            } else {
+                firstPages.invalidate(change.id());
+            }
+        });
+    }
+
+    @Transactional
+    public Page getTimeline(Long applicationId, String cursor, int limit) {
+        if (cursor == null && limit <= cachedPageSize) {
+            List<TimelineEntry> cached = firstPages.getIfPresent(applicationId);
+            if (cached != null) {
+                return page(cached, limit);
+            }
+        }
+
+        long generation = evictions.get();
+        ensureBackfilled(applicationId);
+        List<TimelineEntry> entries;
+        if (cursor == null) {
+            entries = timelineEntryRepository.findByApplicationIdOrderByOccurredAtDescIdDesc(
+                    applicationId, Limit.of(Math.max(limit, cachedPageSize) + 1));
+            firstPages.put(applicationId, List.copyOf(entries));
+            if (evictions.get() != generation) {
+                firstPages.invalidate(applicationId);
+            }
+        } else {
+            Cursor position = Cursor.decode(cursor);
+            entries = timelineEntryRepository.findPageAfter(applicationId, position.occurredAt(), position.id(),
+                    Limit.of(limit + 1));
+        }
+        return page(entries, limit);
+    }
+
+    @EventListener(condition = "#event.aggregateType == 'Application'")
+    @Transactional
+    public void onApplicationEvent(DomainEvent event) {
+        Long applicationId = event.aggregateId();
+        switch (event.eventType()) {
+            case DomainEvent.CREATED -> applicationRepository.findById(applicationId).ifPresent(application ->
+                    appendApplied(application, (String) event.payload().get("status")));
+            case DomainEvent.STATUS_CHANGED -> append(applicationId, TimelineEntry.EntryType.STATUS_CHANGED, event.id(),
+                    event.occurredAt(), null, null, (String) event.payload().get("from"),
+                    (String) event.payload().get("to"), null, null);
+            case DomainEvent.UPDATED -> {
+                Object changed = event.payload().get("changed");
+                if (!(changed instanceof List<?> properties)
+                        || !(properties.contains("lastContactDate") || properties.contains("followUpDate"))) {
+                    return;
+                }
+                // Read back the current values; the event only names what changed
+                Optional<Application> application = applicationRepository.findById(applicationId);
+                if (application.isEmpty()) {
+                    return;
+                }
+                if (properties.contains("lastContactDate") && application.get().getLastContactDate() != null) {
+                    append(applicationId, TimelineEntry.EntryType.CONTACTED, event.id(), event.occurredAt(),
+                            null, null, null, null, application.get().getLastContactDate(), null);
+                }
+                if (properties.contains("followUpDate")) {
+                    LocalDateTime followUp = application.get().getFollowUpDate();
+                    append(applicationId, followUp != null ? TimelineEntry.EntryType.FOLLOW_UP_SCHEDULED
+                                    : TimelineEntry.EntryType.FOLLOW_UP_CLEARED,
+                            event.id(), event.occurredAt(), null, null, null, null, followUp, null);
+                }
+            }
+            default -> {
+                // Deleting the application cascades to its timeline
+            }
+        }
+    }
+
+    @EventListener(condition = "#event.aggregateType == 'ApplicationNote'")
+    @Transactional
+    public void onNoteEvent(DomainEvent event) {
+        Long noteId = event.aggregateId();
+        if (event.eventType().equals(DomainEvent.DELETED)) {
+            Long applicationId = toLong(event.payload().get("applicationId"));
+            if (applicationId != null && timelineEntryRepository.deleteNote(applicationId, noteId) > 0) {
+                changed(applicationId);
+            }
+            return;
+        }
+        applicationNoteRepository.findById(noteId).ifPresent(note -> {
+            Long applicationId = note.getApplication().getId();
+            if (event.eventType().equals(DomainEvent.CREATED)) {
+                appendNote(applicationId, note);
+            } else if (timelineEntryRepository.updateNote(applicationId, noteId, note.getContent(),
+                    note.getNoteType().name(), note.getScheduledFollowUp()) > 0) {
+                changed(applicationId);
+            }
+        });
+    }
+
+    private void ensureBackfilled(Long applicationId) {
+        if (timelineEntryRepository.existsByApplicationIdAndEntryType(applicationId, TimelineEntry.EntryType.APPLIED)) {
+            return;
+        }
+        Application application = applicationRepository.findById(applicationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Application", "id", applicationId));
+
+        // The status it was created with is gone; later transitions were never recorded either
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(applicationId, TimelineEntry.EntryType.APPLIED, applicationId, appliedAt(application),
+                null, null, null, Application.ApplicationStatus.APPLIED.name(), null, null));
+        List<ApplicationNote> notes = new ArrayList<>(applicationNoteRepository.findByApplicationIdOrderByCreatedAtDesc(applicationId));
+        notes.addAll(noteArchiveService.getArchivedNotes(applicationId));
+        for (ApplicationNote note : notes) {
+            rows.add(noteRow(applicationId, note));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    // The row may have moved on since; the status it was created with comes from the event
+    private void appendApplied(Application application, String createdStatus) {
+        append(application.getId(), TimelineEntry.EntryType.APPLIED, application.getId(), appliedAt(application),
+                null, null, null, createdStatus != null ? createdStatus : Application.ApplicationStatus.APPLIED.name(),
+                null, null);
+    }
+
+    private void appendNote(Long applicationId, ApplicationNote note) {
+        if (jdbcTemplate.update(INSERT_SQL, noteRow(applicationId, note)) > 0) {
+            changed(applicationId);
+        }
+    }
+
+    private void append(Long applicationId, TimelineEntry.EntryType type, Long sourceId, LocalDateTime occurredAt,
+                        Long actorId, String noteType, String fromStatus, String toStatus,
+                        LocalDateTime scheduledAt, String content) {
+        if (jdbcTemplate.update(INSERT_SQL, row(applicationId, type, sourceId, occurredAt, actorId, noteType,
+                fromStatus, toStatus, scheduledAt, content)) > 0) {
+            changed(applicationId);
+        }
+    }
+
+    private void changed(Long applicationId) {
+        // Evicting before commit would let a concurrent read cache the old page again
+        changeTracker.afterCommit(() -> {
+            evictions.incrementAndGet();
+            firstPages.invalidate(applicationId);
+        });
+        invalidationBus.publish("ApplicationTimeline", applicationId);
+    }
+
+    private Object[] noteRow(Long applicationId, ApplicationNote note) {
+        return row(applicationId, TimelineEntry.EntryType.NOTE, note.getId(), note.getCreatedAt(),
+                note.getCreatedBy() != null ? note.getCreatedBy().getId() : null, note.getNoteType().name(),
+                null, null, note.getScheduledFollowUp(), note.getContent());
+    }
+
+    private static Object[] row(Long applicationId, TimelineEntry.EntryType type, Long sourceId, LocalDateTime occurredAt,
+                                Long actorId, String noteType, String fromStatus, String toStatus,
+                                LocalDateTime scheduledAt, String content) {
+        return new Object[]{applicationId, type.name(), sourceId, Timestamp.valueOf(occurredAt), actorId, noteType,
+                fromStatus, toStatus, scheduledAt != null ? Timestamp.valueOf(scheduledAt) : null, content};
+    }
+
+    private static LocalDateTime appliedAt(Application application) {
+        if (application.getAppliedAt() != null) {
+            return application.getAppliedAt();
+        }
+        return application.getCreatedAt() != null ? application.getCreatedAt() : LocalDateTime.now();
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private static Page page(List<TimelineEntry> entries, int limit) {
+        if (entries.size() <= limit) {
+            return new Page(entries, null);
+        }
+        List<TimelineEntry> content = entries.subList(0, limit);
+        TimelineEntry last = content.get(limit - 1);
+        return new Page(content, new Cursor(last.getOccurredAt(), last.getId()).encode());
+    }
+
+    /**
+     * Opaque position after the last entry returned: its timestamp and id.
+     */
+    private record Cursor(LocalDateTime occurredAt, Long id) {
+
+        String encode() {
+            String raw = occurredAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid timeline cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ats.service;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style fetch-by-ids: duplicate ids are collapsed, the rest are loaded with
+ * one {@code IN (...)} query per chunk, and results come back in first-requested order
+ * together with the ids that matched nothing.
+ */
+public final class BatchLoader {
+
+    // Keeps each IN list well below driver and planner limits
+    static final int CHUNK_SIZE = 500;
+
+    private BatchLoader() {
+    }
+
+    public record Result<T>(List<T> found, List<Long> missingIds) {}
+
+    public static <T> Result<T> load(Collection<Long> ids, Function<List<Long>, List<T>> query, Function<T, Long> idOf) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.removeIf(Objects::isNull);
+
+        Map<Long, T> byId = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + CHUNK_SIZE, distinctIds.size()));
+            for (T item : query.apply(chunk)) {
+                byId.put(idOf.apply(item), item);
+            }
+        }
+
+        List<T> found = new ArrayList<>(byId.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            T item = byId.get(id);
+            if (item != null) {
+                found.add(item);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new Result<>(found, missingIds);
+    }
+}
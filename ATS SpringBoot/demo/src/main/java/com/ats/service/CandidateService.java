@@ -2,13 +2,18 @@ package com.ats.service;
 
 import com.ats.entity.Candidate;
 import com.ats.repository.CandidateRepository;
+import com.ats.repository.FieldProjection;
+import com.ats.repository.ProjectionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,14 +22,33 @@ public class CandidateService {
     @Autowired
     private CandidateRepository candidateRepository;
 
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
+    @Transactional(readOnly = true)
     public List<Candidate> getAllCandidates() {
         return candidateRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Page<Candidate> getAllCandidates(Pageable pageable) {
         return candidateRepository.findAll(pageable);
     }
 
+    /**
+     * Page of only the requested {@code fields} (see {@link FieldProjection#CANDIDATE}).
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllCandidates(String fields, Pageable pageable) {
+        return projectionRepository.findAll(FieldProjection.CANDIDATE,
+                FieldProjection.CANDIDATE.parse(fields, pageable.getSort()), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public BatchLoader.Result<Candidate> getCandidatesByIds(Collection<Long> ids) {
+        return BatchLoader.load(ids, candidateRepository::findAllById, Candidate::getId);
+    }
+
     public Optional<Candidate> getCandidateById(Long id) {
         return candidateRepository.findById(id);
     }
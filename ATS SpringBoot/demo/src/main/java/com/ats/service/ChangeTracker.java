@@ -0,0 +1,227 @@
+package com.ats.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * In-memory change counters per entity type, bumped after every committed insert, update
+ * or delete. {@link #stamp} turns them into a cheap version stamp for conditional GETs.
+ * <p>
+ * Writes made on other nodes are counted as they arrive over the {@link InvalidationBus};
+ * when that is disabled, stamps also roll over every {@code app.etag.max-staleness-seconds},
+ * which bounds how long another node's write can go unnoticed. Bulk and native statements
+ * bypass the Hibernate listeners and must call {@link #touchAfterCommit} themselves.
+ * <p>
+ * It also remembers the last known {@code @Version} of recently read or written rows
+ * ({@link #knownVersion}), so detail endpoints can compare {@code If-None-Match} before
+ * loading anything.
+ */
+@Service
+public class ChangeTracker {
+
+    private static final long MAX_KNOWN_VERSIONS = 50_000;
+
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, List<BiConsumer<Change, Object>>> listeners = new ConcurrentHashMap<>();
+
+    // Last known @Version per entity type and id, so detail endpoints can answer
+    // If-None-Match without loading the row. Versions only grow, so entries merge by max.
+    private final ConcurrentHashMap<String, Cache<Long, Long>> versions = new ConcurrentHashMap<>();
+
+    public enum Change { INSERT, UPDATE, DELETE }
+
+    // Distinguishes this process's counters from those of other nodes and earlier runs
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Value("${app.etag.max-staleness-seconds:60}")
+    private long maxStalenessSeconds;
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        CommitListener listener = new CommitListener();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+        invalidationBus.subscribeAll(change -> {
+            touch(change.entityName());
+            forgetVersions(change);
+        });
+    }
+
+    public void touch(String entityName) {
+        counter(entityName).incrementAndGet();
+    }
+
+    /**
+     * Registers a callback run after each committed change to the given entity type, with
+     * the kind of change and the entity. Not called for {@link #touchAfterCommit} bumps.
+     */
+    public void addListener(String entityName, BiConsumer<Change, Object> listener) {
+        listeners.computeIfAbsent(entityName, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private void committed(Change change, EntityPersister persister, Object id, Object entity) {
+        String entityName = entity.getClass().getSimpleName();
+        touch(entityName);
+        if (id instanceof Long key) {
+            if (change == Change.DELETE) {
+                versionsOf(entityName).invalidate(key);
+            } else if (persister.isVersioned() && persister.getVersion(entity) instanceof Long version) {
+                rememberVersion(entityName, key, version);
+            }
+        }
+        for (BiConsumer<Change, Object> listener : listeners.getOrDefault(entityName, List.of())) {
+            listener.accept(change, entity);
+        }
+    }
+
+    /**
+     * Bumps the counter once the current transaction commits, or immediately when there is
+     * none, and tells the other nodes that rows of this type changed.
+     */
+    public void touchAfterCommit(String entityName) {
+        invalidationBus.publishBulk(entityName);
+        afterCommit(() -> {
+            touch(entityName);
+            versionsOf(entityName).invalidateAll();
+        });
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or immediately when there is none.
+     */
+    public void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Version stamp over the given entity types (simple class names, e.g. {@code "Job"}).
+     */
+    public String stamp(Collection<String> entityNames) {
+        StringBuilder stamp = new StringBuilder(epoch);
+        if (maxStalenessSeconds > 0) {
+            stamp.append('-').append(System.currentTimeMillis() / 1000 / maxStalenessSeconds);
+        }
+        for (String entityName : entityNames) {
+            stamp.append('-').append(counter(entityName).get());
+        }
+        return stamp.toString();
+    }
+
+    private AtomicLong counter(String entityName) {
+        return counters.computeIfAbsent(entityName, k -> new AtomicLong());
+    }
+
+    /**
+     * The entity's current {@code @Version} if this node has seen it recently, else
+     * {@code null}. Like stamps, entries expire after {@code app.etag.max-staleness-seconds}.
+     */
+    public Long knownVersion(String entityName, Long id) {
+        return versionsOf(entityName).getIfPresent(id);
+    }
+
+    /**
+     * Records a version read from the database. A read that raced a newer commit cannot
+     * move the entry backwards.
+     */
+    public void rememberVersion(String entityName, Long id, Long version) {
+        if (id != null && version != null) {
+            versionsOf(entityName).asMap().merge(id, version, Math::max);
+        }
+    }
+
+    private void forgetVersions(InvalidationBus.EntityChange change) {
+        Cache<Long, Long> known = versionsOf(change.entityName());
+        if (change.isBulk()) {
+            known.invalidateAll();
+        } else if (change.change() != Change.DELETE && change.version().matches("\\d+")) {
+            rememberVersion(change.entityName(), change.id(), Long.valueOf(change.version()));
+        } else {
+            known.invalidate(change.id());
+        }
+    }
+
+    private Cache<Long, Long> versionsOf(String entityName) {
+        return versions.computeIfAbsent(entityName, k -> {
+            Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(MAX_KNOWN_VERSIONS);
+            if (maxStalenessSeconds > 0) {
+                builder.expireAfterWrite(Duration.ofSeconds(maxStalenessSeconds));
+            }
+            return builder.build();
+        });
+    }
+
+    private class CommitListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            committed(Change.INSERT, event.getPersister(), event.getId(), event.getEntity());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            committed(Change.UPDATE, event.getPersister(), event.getId(), event.getEntity());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            committed(Change.DELETE, event.getPersister(), event.getId(), event.getEntity());
+        }
+
+        // A failed commit changed nothing
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return true;
+        }
+    }
+}
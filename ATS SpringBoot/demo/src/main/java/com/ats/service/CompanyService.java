@@ -2,13 +2,17 @@ package com.ats.service;
 
 import com.ats.entity.Company;
 import com.ats.repository.CompanyRepository;
+import com.ats.repository.FieldProjection;
+import com.ats.repository.ProjectionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,14 +21,28 @@ public class CompanyService {
     @Autowired
     private CompanyRepository companyRepository;
 
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
+    @Transactional(readOnly = true)
     public List<Company> getAllCompanies() {
         return companyRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Page<Company> getAllCompanies(Pageable pageable) {
         return companyRepository.findAll(pageable);
     }
 
+    /**
+     * Page of only the requested {@code fields} (see {@link FieldProjection#COMPANY}).
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllCompanies(String fields, Pageable pageable) {
+        return projectionRepository.findAll(FieldProjection.COMPANY,
+                FieldProjection.COMPANY.parse(fields, pageable.getSort()), pageable);
+    }
+
     public Optional<Company> getCompanyById(Long id) {
         return companyRepository.findById(id);
     }
@@ -0,0 +1,21 @@
+package com.ats.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A committed change to a domain aggregate, relayed from the outbox by {@link OutboxRelay}
+ * as a Spring application event. Listen with
+ * {@code @EventListener(condition = "#event.aggregateType == 'Application'")}.
+ * <p>
+ * Events of one aggregate arrive in commit order, but delivery is at-least-once, so
+ * listeners must tolerate seeing an event twice.
+ */
+public record DomainEvent(Long id, String aggregateType, Long aggregateId, String eventType,
+                          Map<String, Object> payload, LocalDateTime occurredAt) {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    public static final String STATUS_CHANGED = "STATUS_CHANGED";
+}
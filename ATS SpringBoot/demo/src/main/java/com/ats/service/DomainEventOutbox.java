@@ -0,0 +1,225 @@
+package com.ats.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records domain events into {@code outbox_events} as part of the transaction that caused
+ * them. Inserts, updates and deletes of the domain aggregates are captured as Hibernate
+ * flushes them and written in one JDBC batch just before commit, so an event exists if and
+ * only if its change committed. A changed {@code status} additionally yields a
+ * {@link DomainEvent#STATUS_CHANGED} event. {@link OutboxRelay} delivers them.
+ * <p>
+ * Payloads stay small: ids of referenced aggregates on create and delete, names of changed
+ * properties on update, never property values other than the status.
+ */
+@Service
+public class DomainEventOutbox {
+
+    private static final Set<String> AGGREGATES = Set.of("Application", "ApplicationNote", "Candidate", "Company", "Job");
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events " +
+            "(aggregate_type, aggregate_id, event_type, payload, attempts, created_at) VALUES (?, ?, ?, ?, 0, ?)";
+
+    private record PendingEvent(String aggregateType, Long aggregateId, String eventType, String payload) {}
+
+    // Events flushed by each open session, written when its transaction commits
+    private final ConcurrentHashMap<EventSource, List<PendingEvent>> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void registerListeners() {
+        if (!enabled) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        FlushListener listener = new FlushListener();
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+
+    /**
+     * Records an event for a change made outside Hibernate (native or bulk statements).
+     * Written on the current transaction's connection, so it commits or rolls back with it.
+     */
+    public void record(String aggregateType, Long aggregateId, String eventType, Map<String, Object> payload) {
+        if (!enabled) {
+            return;
+        }
+        PendingEvent event = new PendingEvent(aggregateType, aggregateId, eventType, toJson(payload));
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            insert(connection, List.of(event));
+            return null;
+        });
+        countRecorded(List.of(event));
+    }
+
+    private void queue(EventSource session, PendingEvent event) {
+        pending.computeIfAbsent(session, s -> {
+            s.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing ->
+                    completing.doWork(connection -> insert(connection, pending.getOrDefault(s, List.of()))));
+            s.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> {
+                List<PendingEvent> events = pending.remove(s);
+                if (success && events != null) {
+                    countRecorded(events);
+                }
+            });
+            return new ArrayList<>();
+        }).add(event);
+    }
+
+    private void insert(Connection connection, List<PendingEvent> events) throws SQLException {
+        if (events.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (PendingEvent event : events) {
+                statement.setString(1, event.aggregateType());
+                statement.setLong(2, event.aggregateId());
+                statement.setString(3, event.eventType());
+                statement.setString(4, event.payload());
+                statement.setTimestamp(5, now);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void countRecorded(List<PendingEvent> events) {
+        for (PendingEvent event : events) {
+            meterRegistry.counter("ats.outbox.events.recorded",
+                    "aggregate", event.aggregateType(), "type", event.eventType()).increment();
+        }
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unserializable domain event payload", e);
+        }
+    }
+
+    /**
+     * Ids of the referenced aggregates, plus the status if the entity has one.
+     */
+    private static Map<String, Object> snapshot(EntityPersister persister, Object[] state, EventSource session) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        if (state == null) {
+            return payload;
+        }
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        for (int i = 0; i < names.length; i++) {
+            if (types[i].isEntityType() && state[i] != null) {
+                payload.put(names[i] + "Id", referenceId(state[i], session));
+            } else if (names[i].equals("status") && state[i] != null) {
+                payload.put("status", state[i].toString());
+            }
+        }
+        return payload;
+    }
+
+    private static Object referenceId(Object entity, EventSource session) {
+        if (entity instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getInternalIdentifier();
+        }
+        return session.getEntityPersister(null, entity).getIdentifier(entity, session);
+    }
+
+    private class FlushListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            String aggregate = event.getEntity().getClass().getSimpleName();
+            if (!AGGREGATES.contains(aggregate)) {
+                return;
+            }
+            Map<String, Object> payload = snapshot(event.getPersister(), event.getState(), event.getSession());
+            queue(event.getSession(), new PendingEvent(aggregate, (Long) event.getId(), DomainEvent.CREATED, toJson(payload)));
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            String aggregate = event.getEntity().getClass().getSimpleName();
+            if (!AGGREGATES.contains(aggregate)) {
+                return;
+            }
+            // Dirty properties are unknown for updates of detached entities without a select
+            int[] dirty = event.getDirtyProperties() != null ? event.getDirtyProperties() : new int[0];
+            String[] names = event.getPersister().getPropertyNames();
+            List<String> changed = new ArrayList<>();
+            for (int index : dirty) {
+                changed.add(names[index]);
+            }
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("changed", changed);
+            queue(event.getSession(), new PendingEvent(aggregate, (Long) event.getId(), DomainEvent.UPDATED, toJson(payload)));
+
+            int status = changed.indexOf("status");
+            if (status >= 0 && event.getOldState() != null) {
+                int index = dirty[status];
+                Map<String, Object> transition = new LinkedHashMap<>();
+                transition.put("from", Objects.toString(event.getOldState()[index], null));
+                transition.put("to", Objects.toString(event.getState()[index], null));
+                queue(event.getSession(), new PendingEvent(aggregate, (Long) event.getId(),
+                        DomainEvent.STATUS_CHANGED, toJson(transition)));
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            String aggregate = event.getEntity().getClass().getSimpleName();
+            if (AGGREGATES.contains(aggregate)) {
+                Map<String, Object> payload = snapshot(event.getPersister(), event.getDeletedState(), event.getSession());
+                queue(event.getSession(), new PendingEvent(aggregate, (Long) event.getId(), DomainEvent.DELETED, toJson(payload)));
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.ats.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link FollowUpScheduler} when a scheduled follow-up comes due.
+ */
+public record FollowUpDueEvent(FollowUpScheduler.Source source, Long id, Long applicationId, LocalDateTime dueAt) {}
@@ -0,0 +1,256 @@
+package com.ats.service;
+
+import com.ats.entity.Application;
+import com.ats.entity.ApplicationNote;
+import com.ats.repository.ApplicationNoteRepository;
+import com.ats.repository.ApplicationRepository;
+import com.ats.scheduling.JobCoordinator;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory schedule of upcoming follow-ups: {@code Application.followUpDate} (except
+ * rejected applications) and {@code ApplicationNote.scheduledFollowUp}. Entries are kept
+ * in a skip list ordered by due time, loaded at startup and kept current from committed
+ * writes via {@link ChangeTracker}, so "overdue" and "due today" are range reads instead
+ * of table scans. Due entries are published as {@link FollowUpDueEvent}s.
+ */
+@Service
+public class FollowUpScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowUpScheduler.class);
+
+    public enum Source { APPLICATION, NOTE }
+
+    public record FollowUp(Source source, Long id, Long applicationId, LocalDateTime dueAt) {}
+
+    private static final Comparator<FollowUp> BY_DUE_TIME = Comparator.comparing(FollowUp::dueAt)
+            .thenComparing(FollowUp::source)
+            .thenComparing(FollowUp::id);
+
+    private final ConcurrentSkipListSet<FollowUp> schedule = new ConcurrentSkipListSet<>(BY_DUE_TIME);
+    private final Map<Source, ConcurrentHashMap<Long, FollowUp>> byId = new EnumMap<>(Map.of(
+            Source.APPLICATION, new ConcurrentHashMap<>(),
+            Source.NOTE, new ConcurrentHashMap<>()));
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // Ids changed while a reload of that source is reading its snapshot; the snapshot
+    // may predate those changes, so their live entries win when it is swapped in
+    private final Map<Source, Set<Long>> changedDuringReload = new EnumMap<>(Source.class);
+
+    private volatile boolean loaded;
+    private volatile LocalDateTime dispatchedUpTo = LocalDateTime.now();
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ApplicationNoteRepository applicationNoteRepository;
+
+    @Autowired
+    private ChangeTracker changeTracker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @PostConstruct
+    public void registerListeners() {
+        changeTracker.addListener("Application", (change, entity) -> {
+            Application application = (Application) entity;
+            boolean scheduled = change != ChangeTracker.Change.DELETE
+                    && application.getFollowUpDate() != null
+                    && application.getStatus() != Application.ApplicationStatus.REJECTED;
+            put(Source.APPLICATION, application.getId(), application.getId(),
+                    scheduled ? application.getFollowUpDate() : null);
+        });
+        changeTracker.addListener("ApplicationNote", (change, entity) -> {
+            ApplicationNote note = (ApplicationNote) entity;
+            LocalDateTime dueAt = change != ChangeTracker.Change.DELETE ? note.getScheduledFollowUp() : null;
+            put(Source.NOTE, note.getId(), note.getApplication().getId(), dueAt);
+        });
+        invalidationBus.subscribe("Application", change -> {
+            if (change.isBulk()) {
+                reload(Source.APPLICATION, () -> applicationRepository.findFollowUpSchedule(Application.ApplicationStatus.REJECTED));
+                return;
+            }
+            Optional<Application> application = applicationRepository.findById(change.id());
+            put(Source.APPLICATION, change.id(), change.id(), application
+                    .filter(a -> a.getStatus() != Application.ApplicationStatus.REJECTED)
+                    .map(Application::getFollowUpDate)
+                    .orElse(null));
+        });
+        invalidationBus.subscribe("ApplicationNote", change -> {
+            if (change.isBulk()) {
+                reload(Source.NOTE, () -> applicationNoteRepository.findFollowUpSchedule());
+                return;
+            }
+            Optional<ApplicationNote> note = applicationNoteRepository.findById(change.id());
+            put(Source.NOTE, change.id(), note.map(n -> n.getApplication().getId()).orElse(null),
+                    note.map(ApplicationNote::getScheduledFollowUp).orElse(null));
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload(Source.APPLICATION, () -> applicationRepository.findFollowUpSchedule(Application.ApplicationStatus.REJECTED));
+        reload(Source.NOTE, () -> applicationNoteRepository.findFollowUpSchedule());
+        loaded = true;
+        logger.info("Loaded {} scheduled follow-ups", schedule.size());
+    }
+
+    /**
+     * Whether the schedule has been loaded; until then callers should fall back to the database.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Entries due strictly before {@code time}, earliest first.
+     */
+    public List<FollowUp> getDueBefore(Source source, LocalDateTime time) {
+        return filter(schedule.headSet(new FollowUp(Source.APPLICATION, Long.MIN_VALUE, null, time)), source);
+    }
+
+    /**
+     * Entries due in {@code [from, to)}, earliest first.
+     */
+    public List<FollowUp> getDueBetween(Source source, LocalDateTime from, LocalDateTime to) {
+        return filter(schedule.subSet(new FollowUp(Source.APPLICATION, Long.MIN_VALUE, null, from),
+                new FollowUp(Source.APPLICATION, Long.MIN_VALUE, null, to)), source);
+    }
+
+    public void removeNotesOfApplication(Long applicationId) {
+        for (FollowUp followUp : List.copyOf(byId.get(Source.NOTE).values())) {
+            if (followUp.applicationId().equals(applicationId)) {
+                put(Source.NOTE, followUp.id(), applicationId, null);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.followups.dispatch-interval-ms:30000}")
+    public void dispatchDue() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = dispatchedUpTo;
+        // Every node advances its watermark so a node taking over does not replay old entries
+        if (!jobCoordinator.isLeader("follow-up-dispatch")) {
+            dispatchedUpTo = now;
+            return;
+        }
+        int dispatched = 0;
+        for (FollowUp followUp : schedule.subSet(new FollowUp(Source.APPLICATION, Long.MIN_VALUE, null, from),
+                new FollowUp(Source.APPLICATION, Long.MIN_VALUE, null, now))) {
+            eventPublisher.publishEvent(new FollowUpDueEvent(followUp.source(), followUp.id(),
+                    followUp.applicationId(), followUp.dueAt()));
+            dispatched++;
+        }
+        dispatchedUpTo = now;
+        if (dispatched > 0) {
+            logger.debug("Dispatched {} due follow-ups", dispatched);
+        }
+    }
+
+    private void put(Source source, Long id, Long applicationId, LocalDateTime dueAt) {
+        writeLock.lock();
+        try {
+            Set<Long> changed = changedDuringReload.get(source);
+            if (changed != null) {
+                changed.add(id);
+            }
+            FollowUp previous = dueAt != null
+                    ? byId.get(source).put(id, new FollowUp(source, id, applicationId, dueAt))
+                    : byId.get(source).remove(id);
+            if (previous != null) {
+                schedule.remove(previous);
+            }
+            if (dueAt != null) {
+                schedule.add(byId.get(source).get(id));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces every entry of one source with the {@code (id, [applicationId,] dueAt)} rows
+     * read by {@code snapshot}. The read runs outside the write lock; entries changed while
+     * it runs keep their live state instead of being overwritten by the snapshot.
+     */
+    private void reload(Source source, Supplier<List<Object[]>> snapshot) {
+        reloadLock.lock();
+        try {
+            Set<Long> changed = new HashSet<>();
+            writeLock.lock();
+            try {
+                changedDuringReload.put(source, changed);
+            } finally {
+                writeLock.unlock();
+            }
+
+            Map<Long, Object[]> fresh = new HashMap<>();
+            try {
+                for (Object[] row : snapshot.get()) {
+                    fresh.put((Long) row[0], row);
+                }
+            } catch (RuntimeException e) {
+                writeLock.lock();
+                changedDuringReload.remove(source);
+                writeLock.unlock();
+                throw e;
+            }
+
+            writeLock.lock();
+            try {
+                changedDuringReload.remove(source);
+                for (Long id : List.copyOf(byId.get(source).keySet())) {
+                    if (!fresh.containsKey(id) && !changed.contains(id)) {
+                        put(source, id, null, null);
+                    }
+                }
+                for (Object[] row : fresh.values()) {
+                    Long id = (Long) row[0];
+                    if (changed.contains(id)) {
+                        continue;
+                    }
+                    Long applicationId = source == Source.APPLICATION ? id : (Long) row[1];
+                    put(source, id, applicationId, (LocalDateTime) row[row.length - 1]);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private List<FollowUp> filter(Collection<FollowUp> followUps, Source source) {
+        List<FollowUp> result = new ArrayList<>();
+        for (FollowUp followUp : followUps) {
+            if (followUp.source() == source) {
+                result.add(followUp);
+            }
+        }
+        return result;
+    }
+}
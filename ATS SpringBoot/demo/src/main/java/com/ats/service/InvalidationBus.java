@@ -0,0 +1,417 @@
+package com.ats.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.Cache;
+import org.hibernate.StatelessSession;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node cache invalidation over PostgreSQL {@code LISTEN/NOTIFY}. Every entity
+ * insert, update and delete is queued as a compact {@code op:Entity:id:version} message and
+ * sent with {@code pg_notify} on the writing transaction's own connection just before it
+ * commits, so other nodes hear about exactly the committed changes and nothing from
+ * rolled-back ones. Each node keeps one dedicated connection listening on the channel and
+ * evicts the affected entries from the Hibernate second-level cache before handing received
+ * changes to its subscribers.
+ * <p>
+ * Messages from this node are ignored on receipt; local caches are already kept current by
+ * {@link ChangeTracker} listeners. After the listening connection drops, every subscriber
+ * gets a bulk change per entity type since messages may have been missed.
+ */
+@Service
+public class InvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+
+    // NOTIFY payloads are limited to 8000 bytes
+    private static final int MAX_PAYLOAD = 7900;
+
+    private static final String BULK_ID = "*";
+
+    /**
+     * A change made on another node. A null {@code id} means any number of rows of the
+     * type may have changed (bulk statements, or messages lost while reconnecting).
+     */
+    public record EntityChange(ChangeTracker.Change change, String entityName, Long id, String version) {
+
+        public boolean isBulk() {
+            return id == null;
+        }
+    }
+
+    private final String origin = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final ConcurrentHashMap<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final List<Subscriber> allSubscribers = new CopyOnWriteArrayList<>();
+
+    // Messages flushed by each open session, sent when its transaction commits
+    private final ConcurrentHashMap<EventSource, Set<String>> pending = new ConcurrentHashMap<>();
+
+    private final Map<String, Class<?>> entityClasses = new HashMap<>();
+
+    // Second-level cache footprint of each entity type: its tables (for query cache
+    // timestamps), cached collections it owns, and cached collections holding it
+    private final Map<String, String[]> querySpaces = new HashMap<>();
+    private final Map<String, List<String>> ownedCollectionRoles = new HashMap<>();
+    private final Map<String, List<String>> referencingCollectionRoles = new HashMap<>();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.invalidation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.invalidation.channel:ats_invalidation}")
+    private String channel;
+
+    @Value("${app.invalidation.poll-timeout-ms:500}")
+    private int pollTimeoutMs;
+
+    @Value("${app.invalidation.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Invalid invalidation channel name: " + channel);
+        }
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            entityClasses.put(entity.getJavaType().getSimpleName(), entity.getJavaType());
+        }
+        mapCacheFootprints();
+
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        FlushListener listener = new FlushListener();
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+
+        running = true;
+        listenerThread = Thread.ofPlatform().name("invalidation-listener").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+        allSubscribers.forEach(Subscriber::shutdown);
+        subscribers.values().forEach(list -> list.forEach(Subscriber::shutdown));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Subscribes to changes of one entity type (simple class name) made on other nodes.
+     * Each subscriber receives changes in order on its own thread, off the listening
+     * connection, so a slow subscriber only delays itself.
+     */
+    public void subscribe(String entityName, Consumer<EntityChange> subscriber) {
+        subscribers.computeIfAbsent(entityName, k -> new CopyOnWriteArrayList<>()).add(new Subscriber(subscriber));
+    }
+
+    public void subscribeAll(Consumer<EntityChange> subscriber) {
+        allSubscribers.add(new Subscriber(subscriber));
+    }
+
+    /**
+     * Announces a bulk or native change that bypassed Hibernate. Sent on the current
+     * transaction's connection, so it is delivered when (and only if) that commits.
+     */
+    public void publishBulk(String entityName) {
+        publish(entityName, BULK_ID);
+    }
+
+    /**
+     * Announces a change to one row, or to a read model keyed by id, that bypassed
+     * Hibernate. Delivered with the current transaction, like {@link #publishBulk}.
+     */
+    public void publish(String entityName, Long id) {
+        publish(entityName, id.toString());
+    }
+
+    private void publish(String entityName, String id) {
+        if (!enabled) {
+            return;
+        }
+        String message = ChangeTracker.Change.UPDATE.name().charAt(0) + ":" + entityName + ":" + id + ":-";
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            send(connection, List.of(message));
+            return null;
+        });
+    }
+
+    private void queue(EventSource session, ChangeTracker.Change change, EntityPersister persister,
+                       Object id, Object entity) {
+        Object version = persister.isVersioned() ? persister.getVersion(entity) : null;
+        String message = change.name().charAt(0) + ":" + entity.getClass().getSimpleName() + ":" + id + ":" +
+                (version != null ? version : "-");
+        pending.computeIfAbsent(session, s -> {
+            s.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing ->
+                    completing.doWork(connection -> send(connection, pending.getOrDefault(s, Set.of()))));
+            s.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) ->
+                    pending.remove(s));
+            return new LinkedHashSet<>();
+        }).add(message);
+    }
+
+    private void send(Connection connection, Collection<String> messages) throws SQLException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            StringBuilder payload = new StringBuilder(origin).append('|');
+            int header = payload.length();
+            for (String message : messages) {
+                if (payload.length() > header && payload.length() + message.length() + 1 > MAX_PAYLOAD) {
+                    notify(statement, payload);
+                    payload.setLength(header);
+                }
+                if (payload.length() > header) {
+                    payload.append(';');
+                }
+                payload.append(message);
+            }
+            notify(statement, payload);
+        }
+    }
+
+    private void notify(PreparedStatement statement, CharSequence payload) throws SQLException {
+        statement.setString(1, channel);
+        statement.setString(2, payload.toString());
+        statement.executeQuery().close();
+    }
+
+    private void listen() {
+        boolean reconnected = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                logger.info("Listening for cache invalidations on channel {}", channel);
+                if (reconnected) {
+                    invalidateEverything();
+                }
+                reconnected = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Invalidation listener disconnected, retrying in {} ms: {}", reconnectDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 0 || payload.substring(0, separator).equals(origin)) {
+            return;
+        }
+        for (String message : payload.substring(separator + 1).split(";")) {
+            String[] parts = message.split(":", 4);
+            if (parts.length < 4) {
+                logger.warn("Ignoring malformed invalidation message: {}", message);
+                continue;
+            }
+            ChangeTracker.Change change = switch (parts[0]) {
+                case "I" -> ChangeTracker.Change.INSERT;
+                case "D" -> ChangeTracker.Change.DELETE;
+                default -> ChangeTracker.Change.UPDATE;
+            };
+            Long id = parts[2].equals(BULK_ID) ? null : Long.valueOf(parts[2]);
+            dispatch(new EntityChange(change, parts[1], id, parts[3]));
+        }
+    }
+
+    private void invalidateEverything() {
+        logger.info("Invalidation listener reconnected, invalidating all cached entities");
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().evictAllRegions();
+        for (String entityName : entityClasses.keySet()) {
+            dispatch(new EntityChange(ChangeTracker.Change.UPDATE, entityName, null, "-"));
+        }
+    }
+
+    private void dispatch(EntityChange change) {
+        try {
+            evictSecondLevelCache(change);
+        } catch (RuntimeException e) {
+            logger.error("Second-level cache eviction failed for {}: {}", change, e.getMessage());
+        }
+        for (Subscriber subscriber : allSubscribers) {
+            subscriber.deliver(change);
+        }
+        for (Subscriber subscriber : subscribers.getOrDefault(change.entityName(), List.of())) {
+            subscriber.deliver(change);
+        }
+    }
+
+    private void mapCacheFootprints() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Map<String, String> simpleNames = new HashMap<>();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            String entityName = persister.getMappedClass().getSimpleName();
+            simpleNames.put(persister.getEntityName(), entityName);
+            querySpaces.put(entityName, Arrays.stream(persister.getQuerySpaces())
+                    .map(String::valueOf).toArray(String[]::new));
+        });
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(persister -> {
+            if (!persister.hasCache()) {
+                return;
+            }
+            String owner = simpleNames.get(persister.getOwnerEntityPersister().getEntityName());
+            ownedCollectionRoles.computeIfAbsent(owner, k -> new ArrayList<>()).add(persister.getRole());
+            if (persister.getElementType() instanceof org.hibernate.type.EntityType elementType) {
+                String element = simpleNames.get(elementType.getAssociatedEntityName());
+                referencingCollectionRoles.computeIfAbsent(element, k -> new ArrayList<>()).add(persister.getRole());
+            }
+        });
+    }
+
+    /**
+     * Evicts what the change can have made stale: the entity itself, the cached collections
+     * it owns (only the changed owner's), every cached collection that may hold it (the
+     * owner is not in the message), and cached query results over its tables.
+     */
+    private void evictSecondLevelCache(EntityChange change) {
+        Class<?> entityClass = entityClasses.get(change.entityName());
+        if (entityClass == null) {
+            return;
+        }
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Cache cache = sessionFactory.getCache();
+        if (change.isBulk()) {
+            cache.evictEntityData(entityClass);
+        } else {
+            cache.evictEntityData(entityClass, change.id());
+        }
+        for (String role : ownedCollectionRoles.getOrDefault(change.entityName(), List.of())) {
+            if (change.isBulk()) {
+                cache.evictCollectionData(role);
+            } else {
+                cache.evictCollectionData(role, change.id());
+            }
+        }
+        for (String role : referencingCollectionRoles.getOrDefault(change.entityName(), List.of())) {
+            cache.evictCollectionData(role);
+        }
+        String[] spaces = querySpaces.get(change.entityName());
+        if (spaces != null && sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()) {
+            // Marks the tables as updated now, which invalidates cached results that read them
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                sessionFactory.getCache().getTimestampsCache().invalidate(spaces, (SharedSessionContractImplementor) session);
+            }
+        }
+    }
+
+    /**
+     * A subscriber with its own serial executor, so a slow one cannot hold up the listening
+     * connection or the other subscribers.
+     */
+    private static final class Subscriber {
+
+        private final Consumer<EntityChange> consumer;
+        private final ExecutorService executor =
+                Executors.newSingleThreadExecutor(Thread.ofVirtual().name("invalidation-subscriber").factory());
+
+        Subscriber(Consumer<EntityChange> consumer) {
+            this.consumer = consumer;
+        }
+
+        void deliver(EntityChange change) {
+            executor.execute(() -> {
+                try {
+                    consumer.accept(change);
+                } catch (RuntimeException e) {
+                    logger.error("Invalidation subscriber failed for {}: {}", change, e.getMessage());
+                }
+            });
+        }
+
+        void shutdown() {
+            executor.shutdownNow();
+        }
+    }
+
+    private class FlushListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            queue(event.getSession(), ChangeTracker.Change.INSERT, event.getPersister(), event.getId(), event.getEntity());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            queue(event.getSession(), ChangeTracker.Change.UPDATE, event.getPersister(), event.getId(), event.getEntity());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            queue(event.getSession(), ChangeTracker.Change.DELETE, event.getPersister(), event.getId(), event.getEntity());
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+}
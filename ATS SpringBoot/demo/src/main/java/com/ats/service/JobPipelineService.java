@@ -0,0 +1,124 @@
+package com.ats.service;
+
+import com.ats.entity.Application;
+import com.ats.exception.ResourceNotFoundException;
+import com.ats.repository.ApplicationRepository;
+import com.ats.repository.JobRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Pipeline (Kanban) board of a job: per-status counts plus the newest cards of each
+ * status, built from one windowed query and cached per job. A job's boards are evicted
+ * after any committed change to one of its applications; candidate edits (names on the
+ * cards) clear every board.
+ */
+@Service
+public class JobPipelineService {
+
+    private record Key(Long jobId, int cardsPerStage) {}
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ChangeTracker changeTracker;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Value("${app.pipeline.cache-ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    private Cache<Key, Map<String, Object>> pipelines;
+
+    @PostConstruct
+    public void init() {
+        // The TTL bounds staleness from other nodes' writes if the invalidation bus is off
+        pipelines = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+        changeTracker.addListener("Application", (change, entity) -> evict(((Application) entity).getJob().getId()));
+        changeTracker.addListener("Candidate", (change, entity) -> pipelines.invalidateAll());
+        // Remote changes carry only ids, not the job an application belongs to
+        invalidationBus.subscribe("Application", change -> pipelines.invalidateAll());
+        invalidationBus.subscribe("Candidate", change -> pipelines.invalidateAll());
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPipeline(Long jobId, int cardsPerStage) {
+        Key key = new Key(jobId, cardsPerStage);
+        Map<String, Object> pipeline = pipelines.getIfPresent(key);
+        if (pipeline == null) {
+            pipeline = buildPipeline(jobId, cardsPerStage);
+            pipelines.put(key, pipeline);
+        }
+        return pipeline;
+    }
+
+    public void evict(Long jobId) {
+        pipelines.asMap().keySet().removeIf(key -> key.jobId().equals(jobId));
+    }
+
+    private Map<String, Object> buildPipeline(Long jobId, int cardsPerStage) {
+        if (jobRepository.findById(jobId).isEmpty()) {
+            throw new ResourceNotFoundException("Job", "id", jobId);
+        }
+
+        Map<Application.ApplicationStatus, Map<String, Object>> stages = new EnumMap<>(Application.ApplicationStatus.class);
+        for (Application.ApplicationStatus status : Application.ApplicationStatus.values()) {
+            Map<String, Object> stage = new LinkedHashMap<>();
+            stage.put("status", status);
+            stage.put("count", 0L);
+            stage.put("cards", new ArrayList<Map<String, Object>>());
+            stages.put(status, stage);
+        }
+
+        long total = 0;
+        for (Object[] row : applicationRepository.findPipelineRows(jobId, cardsPerStage)) {
+            Map<String, Object> stage = stages.get(Application.ApplicationStatus.valueOf((String) row[0]));
+            stage.put("count", ((Number) row[1]).longValue());
+
+            Map<String, Object> card = new LinkedHashMap<>();
+            card.put("applicationId", ((Number) row[2]).longValue());
+            card.put("candidateId", ((Number) row[3]).longValue());
+            card.put("candidateName", row[4] + " " + row[5]);
+            card.put("rating", row[6] != null ? ((Number) row[6]).intValue() : null);
+            card.put("lastContactDate", toLocalDateTime(row[7]));
+            card.put("appliedAt", toLocalDateTime(row[8]));
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> cards = (List<Map<String, Object>>) stage.get("cards");
+            cards.add(card);
+        }
+        for (Map<String, Object> stage : stages.values()) {
+            total += (Long) stage.get("count");
+        }
+
+        Map<String, Object> pipeline = new LinkedHashMap<>();
+        pipeline.put("jobId", jobId);
+        pipeline.put("totalApplications", total);
+        pipeline.put("stages", new ArrayList<>(stages.values()));
+        return Collections.unmodifiableMap(pipeline);
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
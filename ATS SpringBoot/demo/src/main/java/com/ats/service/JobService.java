@@ -2,33 +2,92 @@ package com.ats.service;
 
 import com.ats.entity.Job;
 import com.ats.entity.User;
+import com.ats.repository.FieldProjection;
 import com.ats.repository.JobRepository;
+import com.ats.repository.ProjectionRepository;
+import com.ats.service.OptimisticLockRetry.Field;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class JobService {
 
+    // Associations are compared by id; the request only carries references
+    private static final List<Field<Job>> UPDATABLE_FIELDS = List.of(
+            Field.of("title", Job::getTitle, Job::setTitle),
+            Field.of("description", Job::getDescription, Job::setDescription),
+            Field.of("requirements", Job::getRequirements, Job::setRequirements),
+            Field.of("location", Job::getLocation, Job::setLocation),
+            Field.of("jobType", Job::getJobType, Job::setJobType),
+            Field.of("minSalary", Job::getMinSalary, Job::setMinSalary),
+            Field.of("maxSalary", Job::getMaxSalary, Job::setMaxSalary),
+            Field.of("status", Job::getStatus, Job::setStatus),
+            Field.of("priority", Job::getPriority, Job::setPriority),
+            Field.of("deadline", Job::getDeadline, Job::setDeadline),
+            new Field<>("company", job -> job.getCompany() != null ? job.getCompany().getId() : null,
+                    (from, to) -> to.setCompany(from.getCompany())),
+            new Field<>("assignedRecruiter",
+                    job -> job.getAssignedRecruiter() != null ? job.getAssignedRecruiter().getId() : null,
+                    (from, to) -> to.setAssignedRecruiter(from.getAssignedRecruiter())));
+
     @Autowired
     private JobRepository jobRepository;
 
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Autowired
+    private ChangeTracker changeTracker;
+
+    @Transactional(readOnly = true)
     public List<Job> getAllJobs() {
         return jobRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Page<Job> getAllJobs(Pageable pageable) {
         return jobRepository.findAll(pageable);
     }
 
+    /**
+     * Page of only the requested {@code fields} (see {@link FieldProjection#JOB}).
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllJobs(String fields, Pageable pageable) {
+        return projectionRepository.findAll(FieldProjection.JOB,
+                FieldProjection.JOB.parse(fields, pageable.getSort()), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public BatchLoader.Result<Job> getJobsByIds(Collection<Long> ids) {
+        return BatchLoader.load(ids, jobRepository::findAllWithCompanyByIdIn, Job::getId);
+    }
+
     public Optional<Job> getJobById(Long id) {
-        return jobRepository.findById(id);
+        Optional<Job> job = jobRepository.findById(id);
+        job.ifPresent(found -> changeTracker.rememberVersion("Job", id, found.getVersion()));
+        return job;
+    }
+
+    /**
+     * The job's current version when it is known without a query, else {@code null}.
+     */
+    public Long getKnownJobVersion(Long id) {
+        return changeTracker.knownVersion("Job", id);
     }
 
     public Job createJob(Job job) {
@@ -38,24 +97,16 @@ public class JobService {
     }
 
     public Job updateJob(Long id, Job jobDetails) {
-        Job job = jobRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Job not found with id: " + id));
-
-        job.setTitle(jobDetails.getTitle());
-        job.setDescription(jobDetails.getDescription());
-        job.setRequirements(jobDetails.getRequirements());
-        job.setLocation(jobDetails.getLocation());
-        job.setJobType(jobDetails.getJobType());
-        job.setMinSalary(jobDetails.getMinSalary());
-        job.setMaxSalary(jobDetails.getMaxSalary());
-        job.setStatus(jobDetails.getStatus());
-        job.setPriority(jobDetails.getPriority());
-        job.setDeadline(jobDetails.getDeadline());
-        job.setCompany(jobDetails.getCompany());
-        job.setAssignedRecruiter(jobDetails.getAssignedRecruiter());
-        job.setUpdatedAt(LocalDateTime.now());
+        return updateJob(id, jobDetails, null);
+    }
 
-        return jobRepository.save(job);
+    public Job updateJob(Long id, Job jobDetails, Set<Long> expectedVersions) {
+        return optimisticLockRetry.merge("Job", id,
+                () -> jobRepository.findById(id).orElseThrow(() -> new RuntimeException("Job not found with id: " + id)),
+                Job::getVersion, expectedVersions, jobDetails, UPDATABLE_FIELDS, job -> {
+                    job.setUpdatedAt(LocalDateTime.now());
+                    return jobRepository.save(job);
+                });
     }
 
     public void deleteJob(Long id) {
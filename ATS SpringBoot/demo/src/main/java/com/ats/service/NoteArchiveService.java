@@ -0,0 +1,278 @@
+package com.ats.service;
+
+import com.ats.entity.Application;
+import com.ats.entity.ApplicationNote;
+import com.ats.entity.ApplicationNoteArchive;
+import com.ats.entity.User;
+import com.ats.repository.ApplicationNoteArchiveRepository;
+import com.ats.repository.ApplicationNoteRepository;
+import com.ats.scheduling.ClusterJob;
+import com.ats.scheduling.JobShard;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Storage tiers for application notes. Keeps the monthly partitions of
+ * {@code application_notes} created ahead of time, and moves the notes of closed
+ * applications that have been quiet for {@code app.notes.archive.after-months} into
+ * {@code application_note_archives} as one compressed blob per application.
+ */
+@Service
+public class NoteArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteArchiveService.class);
+
+    private static final List<Application.ApplicationStatus> CLOSED_STATUSES =
+            List.of(Application.ApplicationStatus.HIRED, Application.ApplicationStatus.REJECTED);
+
+    private static final TypeReference<List<Map<String, Object>>> NOTE_LIST = new TypeReference<>() {};
+
+    @Autowired
+    private ApplicationNoteRepository applicationNoteRepository;
+
+    @Autowired
+    private ApplicationNoteArchiveRepository archiveRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ChangeTracker changeTracker;
+
+    @Autowired
+    private FollowUpScheduler followUpScheduler;
+
+    @Value("${app.notes.partitioning.enabled:false}")
+    private boolean partitioningEnabled;
+
+    @Value("${app.notes.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.notes.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${app.notes.archive.after-months:12}")
+    private int archiveAfterMonths;
+
+    @Value("${app.notes.archive.batch-size:100}")
+    private int archiveBatchSize;
+
+    /**
+     * Creates the monthly partitions from this month to {@code months-ahead}, and splits
+     * out of the default partition every month that has rows there (backdated notes, or a
+     * table migrated into the default partition). Throws on the first partition it cannot
+     * create rather than leaving the table half-partitioned.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.notes.partitioning.check-interval-ms:86400000}")
+    @ClusterJob("notes-partitions")
+    public void ensurePartitions() {
+        if (!partitioningEnabled) {
+            return;
+        }
+        SortedSet<LocalDate> months = new TreeSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(date_trunc('month', created_at) AS date) FROM application_notes_default",
+                LocalDate.class));
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(month.plusMonths(i));
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (LocalDate from : months) {
+            String partition = String.format("application_notes_p%d_%02d", from.getYear(), from.getMonthValue());
+            try {
+                transactionTemplate.executeWithoutResult(status -> createPartition(partition, from, from.plusMonths(1)));
+            } catch (DataAccessException e) {
+                throw new IllegalStateException("Failed to create notes partition " + partition, e);
+            }
+        }
+    }
+
+    private void createPartition(String partition, LocalDate from, LocalDate to) {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+            return;
+        }
+        // A range cannot be attached while the default partition holds rows in it, so move
+        // them into the new table first; all in one transaction
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE application_notes INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM application_notes_default " +
+                "WHERE created_at >= ? AND created_at < ? RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved",
+                from.atStartOfDay(), to.atStartOfDay());
+        jdbcTemplate.execute("ALTER TABLE application_notes ATTACH PARTITION " + partition +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        logger.info("Created notes partition {} ({} rows moved from the default partition)", partition, moved);
+    }
+
+    /**
+     * Archives in batches of {@code app.notes.archive.batch-size} applications, each
+     * application in its own transaction. An application that fails is logged and skipped
+     * until the next run; only a batch in which every application fails ends the run early.
+     */
+    @Scheduled(cron = "${app.notes.archive.cron:0 30 3 * * *}")
+    @ClusterJob(value = "notes-archive", shards = 4)
+    public void archiveClosedApplicationNotes() {
+        if (!archiveEnabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(archiveAfterMonths);
+        JobShard shard = JobShard.current();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int archived = 0;
+        int failed = 0;
+        long afterId = 0;
+
+        List<Long> applicationIds;
+        do {
+            applicationIds = applicationNoteRepository.findArchivableApplicationIds(
+                    CLOSED_STATUSES, cutoff, afterId, shard.count(), shard.index(), PageRequest.of(0, archiveBatchSize));
+            int failedInBatch = 0;
+            for (Long applicationId : applicationIds) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> archiveApplication(applicationId));
+                    archived++;
+                } catch (RuntimeException e) {
+                    failedInBatch++;
+                    logger.warn("Failed to archive notes of application {}: {}", applicationId, e.getMessage());
+                }
+            }
+            failed += failedInBatch;
+            if (applicationIds.size() == archiveBatchSize && failedInBatch == applicationIds.size()) {
+                logger.error("Stopping notes archive (partition {}/{}): every application in the last batch failed",
+                        shard.index(), shard.count());
+                break;
+            }
+            if (!applicationIds.isEmpty()) {
+                afterId = applicationIds.get(applicationIds.size() - 1);
+            }
+        } while (applicationIds.size() == archiveBatchSize);
+
+        logger.info("Archived notes of {} closed applications older than {}, {} failed (partition {}/{})",
+                archived, cutoff, failed, shard.index(), shard.count());
+    }
+
+    private void archiveApplication(Long applicationId) {
+        List<ApplicationNote> notes = applicationNoteRepository.findByApplicationIdOrderByCreatedAtDesc(applicationId);
+        if (notes.isEmpty()) {
+            return;
+        }
+
+        ApplicationNoteArchive archive = archiveRepository.findById(applicationId).orElseGet(() -> {
+            ApplicationNoteArchive created = new ApplicationNoteArchive();
+            created.setApplicationId(applicationId);
+            return created;
+        });
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (ApplicationNote note : notes) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("id", note.getId());
+            entry.put("createdById", note.getCreatedBy().getId());
+            entry.put("content", note.getContent());
+            entry.put("noteType", note.getNoteType().name());
+            entry.put("scheduledFollowUp", note.getScheduledFollowUp());
+            entry.put("createdAt", note.getCreatedAt());
+            entry.put("updatedAt", note.getUpdatedAt());
+            entries.add(entry);
+        }
+        if (archive.getPayload() != null) {
+            entries.addAll(decompress(archive.getPayload()));
+        }
+
+        archive.setPayload(compress(entries));
+        archive.setNoteCount(entries.size());
+        archive.setNewestNoteAt(notes.get(0).getCreatedAt());
+        if (archive.getOldestNoteAt() == null || notes.get(notes.size() - 1).getCreatedAt().isBefore(archive.getOldestNoteAt())) {
+            archive.setOldestNoteAt(notes.get(notes.size() - 1).getCreatedAt());
+        }
+        archiveRepository.save(archive);
+        applicationNoteRepository.deleteByApplicationId(applicationId);
+        changeTracker.touchAfterCommit("ApplicationNote");
+        changeTracker.afterCommit(() -> followUpScheduler.removeNotesOfApplication(applicationId));
+    }
+
+    /**
+     * Archived notes of an application, newest first, rebuilt as detached
+     * {@link ApplicationNote}s so callers can merge them with live notes.
+     */
+    public List<ApplicationNote> getArchivedNotes(Long applicationId) {
+        Optional<ApplicationNoteArchive> archive = archiveRepository.findById(applicationId);
+        if (archive.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ApplicationNote> notes = new ArrayList<>();
+        for (Map<String, Object> entry : decompress(archive.get().getPayload())) {
+            User createdBy = new User();
+            createdBy.setId(((Number) entry.get("createdById")).longValue());
+
+            ApplicationNote note = new ApplicationNote();
+            note.setId(((Number) entry.get("id")).longValue());
+            note.setCreatedBy(createdBy);
+            note.setContent((String) entry.get("content"));
+            note.setNoteType(ApplicationNote.NoteType.valueOf((String) entry.get("noteType")));
+            note.setScheduledFollowUp(parseDateTime(entry.get("scheduledFollowUp")));
+            note.setCreatedAt(parseDateTime(entry.get("createdAt")));
+            note.setUpdatedAt(parseDateTime(entry.get("updatedAt")));
+            notes.add(note);
+        }
+        notes.sort(Comparator.comparing(ApplicationNote::getCreatedAt).reversed());
+        return notes;
+    }
+
+    public long getArchivedNotesCount(Long applicationId) {
+        return archiveRepository.findById(applicationId).map(ApplicationNoteArchive::getNoteCount).orElse(0);
+    }
+
+    public long getTotalArchivedNotesCount() {
+        return archiveRepository.sumNoteCount();
+    }
+
+    private byte[] compress(List<Map<String, Object>> entries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress archived notes", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<Map<String, Object>> decompress(byte[] payload) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(gzip, NOTE_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived notes", e);
+        }
+    }
+
+    private LocalDateTime parseDateTime(Object value) {
+        return value == null ? null : LocalDateTime.parse((String) value);
+    }
+}
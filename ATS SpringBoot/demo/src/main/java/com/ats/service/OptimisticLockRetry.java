@@ -0,0 +1,117 @@
+package com.ats.service;
+
+import com.ats.exception.ConflictingUpdateException;
+import com.ats.exception.VersionConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs a read-modify-write in its own transaction and replays it when another writer
+ * bumped the entity's {@code @Version} in between.
+ * <p>
+ * {@link #merge} keeps the row as first read as the base of the update and applies only
+ * the fields the caller changed relative to it. When a retry finds that the concurrent
+ * writer changed none of those fields, the caller's changes are applied on top of the newer
+ * row, so updates to disjoint fields merge. If it changed one of them to a different value,
+ * the update fails with {@link ConflictingUpdateException} (409) instead of overwriting it.
+ */
+@Component
+public class OptimisticLockRetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetry.class);
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * An updatable property: {@code value} is what gets compared (ids for associations),
+     * {@code copy} moves the property from one instance to another.
+     */
+    public record Field<T>(String name, Function<T, ?> value, BiConsumer<T, T> copy) {
+
+        public static <T, V> Field<T> of(String name, Function<T, V> getter, BiConsumer<T, V> setter) {
+            return new Field<>(name, getter, (from, to) -> setter.accept(to, getter.apply(from)));
+        }
+    }
+
+    private final TransactionTemplate transactionTemplate;
+
+    public OptimisticLockRetry(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T execute(Supplier<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> update.get());
+            } catch (ConflictingUpdateException e) {
+                throw e;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Optimistic lock conflict, retrying (attempt {}): {}", attempt, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Copies the {@code fields} of {@code changes} that differ from the current row onto it
+     * and saves it. {@code expectedVersions} (from {@code If-Match}, {@code null} for no
+     * precondition) are checked against the first read only: when none of them is current
+     * it fails with {@link VersionConflictException} (412), a write that lands after that read is merged
+     * as described above. {@code save} also sets any server-maintained columns.
+     */
+    public <T> T merge(String resourceName, Object id, Supplier<T> load, Function<T, Long> version,
+                       Set<Long> expectedVersions, T changes, List<Field<T>> fields, UnaryOperator<T> save) {
+        Map<String, Object> base = new HashMap<>();
+        List<Field<T>> changed = new ArrayList<>();
+        return execute(() -> {
+            T current = load.get();
+            if (base.isEmpty()) {
+                if (expectedVersions != null && !expectedVersions.contains(version.apply(current))) {
+                    throw new VersionConflictException(resourceName, id, expectedVersions, version.apply(current));
+                }
+                for (Field<T> field : fields) {
+                    Object value = field.value().apply(current);
+                    base.put(field.name(), value != null ? value : NONE);
+                    if (!Objects.equals(field.value().apply(changes), value)) {
+                        changed.add(field);
+                    }
+                }
+            } else {
+                List<String> overlapping = new ArrayList<>();
+                for (Field<T> field : changed) {
+                    Object now = field.value().apply(current);
+                    if (!Objects.equals(now, unwrap(base.get(field.name())))
+                            && !Objects.equals(now, field.value().apply(changes))) {
+                        overlapping.add(field.name());
+                    }
+                }
+                if (!overlapping.isEmpty()) {
+                    throw new ConflictingUpdateException(resourceName, id, overlapping);
+                }
+            }
+            for (Field<T> field : changed) {
+                field.copy().accept(changes, current);
+            }
+            return save.apply(current);
+        });
+    }
+
+    // Stands in for null in the base snapshot, so an empty map still means "not read yet"
+    private static final Object NONE = new Object();
+
+    private static Object unwrap(Object value) {
+        return value == NONE ? null : value;
+    }
+}
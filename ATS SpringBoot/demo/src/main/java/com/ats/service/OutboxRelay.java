@@ -0,0 +1,217 @@
+package com.ats.service;
+
+import com.ats.entity.OutboxEvent;
+import com.ats.repository.OutboxEventRepository;
+import com.ats.scheduling.ClusterJob;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers outbox events to in-process subscribers as {@link DomainEvent}s. One node at a
+ * time relays (cluster lease {@code outbox-relay}), in batches of {@code app.outbox.relay.batch-size}.
+ * A batch is split into lanes by aggregate and the lanes run in parallel; within a lane
+ * events are delivered one by one in outbox order, so each aggregate's events stay in
+ * commit order. If a subscriber fails, the aggregate's remaining events wait for the next
+ * pass; an event that keeps failing is dropped after {@code app.outbox.relay.max-attempts}.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD = new TypeReference<>() {};
+
+    private record LaneResult(List<Long> delivered, List<Long> failed) {}
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.relay.lanes:4}")
+    private int lanes;
+
+    @Value("${app.outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+
+    private Counter relayed;
+    private Counter failed;
+    private Counter dropped;
+    private Timer batchTimer;
+    private Timer deliveryLag;
+
+    @PostConstruct
+    public void registerMetrics() {
+        relayed = meterRegistry.counter("ats.outbox.events.relayed");
+        failed = meterRegistry.counter("ats.outbox.events.failed");
+        dropped = meterRegistry.counter("ats.outbox.events.dropped");
+        batchTimer = meterRegistry.timer("ats.outbox.relay.batch");
+        // Commit-to-delivery delay of each relayed event
+        deliveryLag = Timer.builder("ats.outbox.relay.lag")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("ats.outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("ats.outbox.oldest-pending.age", oldestPendingAgeMs, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:500}")
+    @ClusterJob("outbox-relay")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            boolean more = true;
+            while (more) {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                List<OutboxEvent> batch = outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                more = relayBatch(batch, executor) && batch.size() == batchSize;
+                sample.stop(batchTimer);
+            }
+        }
+        refreshBacklog();
+    }
+
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 45 4 * * *}")
+    @ClusterJob("outbox-cleanup")
+    public void deletePublishedEvents() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        logger.info("Deleted {} relayed outbox events older than {} days", deleted, retentionDays);
+    }
+
+    /**
+     * Relays one batch; returns false if anything failed, so the caller stops draining and
+     * the failed aggregates are retried on the next pass rather than in a tight loop.
+     */
+    private boolean relayBatch(List<OutboxEvent> batch, ExecutorService executor) {
+        Map<Integer, List<OutboxEvent>> byLane = new HashMap<>();
+        for (OutboxEvent event : batch) {
+            int lane = Math.floorMod(Objects.hash(event.getAggregateType(), event.getAggregateId()), lanes);
+            byLane.computeIfAbsent(lane, k -> new ArrayList<>()).add(event);
+        }
+
+        List<Future<LaneResult>> results = new ArrayList<>();
+        for (List<OutboxEvent> laneEvents : byLane.values()) {
+            results.add(executor.submit(() -> deliver(laneEvents)));
+        }
+
+        List<Long> delivered = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        for (Future<LaneResult> result : results) {
+            try {
+                delivered.addAll(result.get().delivered());
+                failedIds.addAll(result.get().failed());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                logger.error("Outbox lane failed: {}", e.getCause().getMessage());
+                return false;
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.markPublished(delivered, LocalDateTime.now());
+        }
+        if (!failedIds.isEmpty()) {
+            outboxEventRepository.incrementAttempts(failedIds);
+        }
+        return failedIds.isEmpty();
+    }
+
+    private LaneResult deliver(List<OutboxEvent> events) {
+        List<Long> delivered = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        Set<String> blocked = new HashSet<>();
+        for (OutboxEvent event : events) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (blocked.contains(aggregate)) {
+                continue;
+            }
+            try {
+                eventPublisher.publishEvent(toDomainEvent(event));
+                delivered.add(event.getId());
+                relayed.increment();
+                deliveryLag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } catch (RuntimeException e) {
+                failed.increment();
+                if (event.getAttempts() + 1 >= maxAttempts) {
+                    logger.error("Dropping outbox event {} ({} {} {}) after {} attempts: {}", event.getId(),
+                            event.getAggregateType(), event.getAggregateId(), event.getEventType(), maxAttempts, e.getMessage());
+                    dropped.increment();
+                    delivered.add(event.getId());
+                } else {
+                    logger.warn("Outbox event {} failed, holding back {} until the next pass: {}",
+                            event.getId(), aggregate, e.getMessage());
+                    failedIds.add(event.getId());
+                    blocked.add(aggregate);
+                }
+            }
+        }
+        return new LaneResult(delivered, failedIds);
+    }
+
+    private DomainEvent toDomainEvent(OutboxEvent event) {
+        Map<String, Object> payload;
+        try {
+            payload = event.getPayload() != null ? objectMapper.readValue(event.getPayload(), PAYLOAD) : Map.of();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload of outbox event " + event.getId(), e);
+        }
+        return new DomainEvent(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), payload, event.getCreatedAt());
+    }
+
+    private void refreshBacklog() {
+        pending.set(outboxEventRepository.countByPublishedAtIsNull());
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+        oldestPendingAgeMs.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).toMillis() : 0);
+    }
+}
@@ -0,0 +1,125 @@
+package com.ats.service;
+
+import com.ats.entity.RefreshToken;
+import com.ats.repository.RefreshTokenRepository;
+import com.ats.scheduling.ClusterJob;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Only the SHA-256 of a token is stored, so
+ * refreshing costs a hash and an indexed lookup rather than a BCrypt verification. Each
+ * refresh revokes the presented token; presenting an already-rotated token again is
+ * treated as theft and revokes the whole family.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${app.jwt.refresh-expiration-ms:1209600000}")
+    private long refreshExpirationMs;
+
+    // Active tokens by hash, written on issue so a refresh usually skips the SELECT.
+    // Revocation is always decided by the conditional UPDATE, never by the cache.
+    private final Cache<String, RefreshToken> activeTokens = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    public record Rotation(Long userId, String refreshToken) {}
+
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID());
+    }
+
+    /**
+     * Exchanges a refresh token for the next one in its family.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        String tokenHash = hash(rawToken);
+        RefreshToken token = activeTokens.getIfPresent(tokenHash);
+        if (token == null) {
+            token = refreshTokenRepository.findByTokenHash(tokenHash)
+                    .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        }
+        activeTokens.invalidate(tokenHash);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        if (refreshTokenRepository.revokeIfActive(token.getId(), now) == 0) {
+            logger.warn("Refresh token reuse detected for user {}, revoking token family {}",
+                    token.getUserId(), token.getFamilyId());
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            throw new BadCredentialsException("Refresh token already used");
+        }
+
+        return new Rotation(token.getUserId(), issue(token.getUserId(), token.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+        activeTokens.asMap().values().removeIf(token -> token.getUserId().equals(userId));
+    }
+
+    @Scheduled(cron = "${app.jwt.refresh-cleanup-cron:0 15 4 * * *}")
+    @ClusterJob("refresh-token-cleanup")
+    @Transactional
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        logger.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private String issue(Long userId, UUID familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setUserId(userId);
+        token.setFamilyId(familyId);
+        token.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs)));
+        refreshTokenRepository.save(token);
+
+        activeTokens.put(token.getTokenHash(), token);
+        return rawToken;
+    }
+
+    private String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
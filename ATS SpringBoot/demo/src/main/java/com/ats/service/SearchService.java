@@ -12,12 +12,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class SearchService {
 
     @Autowired
@@ -47,19 +49,7 @@ public class SearchService {
 
         return candidates.stream()
                 .limit(limit)
-                .map(candidate -> {
-                    Map<String, Object> candidateMap = new HashMap<>();
-                    candidateMap.put("id", candidate.getId());
-                    candidateMap.put("name", candidate.getFullName());
-                    candidateMap.put("email", candidate.getEmail());
-                    candidateMap.put("phone", candidate.getPhone());
-                    candidateMap.put("location", candidate.getLocation());
-                    candidateMap.put("currentJobTitle", candidate.getCurrentJobTitle());
-                    candidateMap.put("experienceYears", candidate.getExperienceYears());
-                    candidateMap.put("skills", candidate.getSkills());
-                    candidateMap.put("type", "candidate");
-                    return candidateMap;
-                })
+                .map(SearchService::toSearchResult)
                 .collect(Collectors.toList());
     }
 
@@ -68,17 +58,7 @@ public class SearchService {
 
         return companies.stream()
                 .limit(limit)
-                .map(company -> {
-                    Map<String, Object> companyMap = new HashMap<>();
-                    companyMap.put("id", company.getId());
-                    companyMap.put("name", company.getName());
-                    companyMap.put("industry", company.getIndustry());
-                    companyMap.put("location", company.getLocation());
-                    companyMap.put("website", company.getWebsite());
-                    companyMap.put("description", company.getDescription());
-                    companyMap.put("type", "company");
-                    return companyMap;
-                })
+                .map(SearchService::toSearchResult)
                 .collect(Collectors.toList());
     }
 
@@ -87,19 +67,7 @@ public class SearchService {
 
         return jobs.stream()
                 .limit(limit)
-                .map(job -> {
-                    Map<String, Object> jobMap = new HashMap<>();
-                    jobMap.put("id", job.getId());
-                    jobMap.put("title", job.getTitle());
-                    jobMap.put("companyName", job.getCompany().getName());
-                    jobMap.put("location", job.getLocation());
-                    jobMap.put("jobType", job.getJobType());
-                    jobMap.put("status", job.getStatus());
-                    jobMap.put("priority", job.getPriority());
-                    jobMap.put("deadline", job.getDeadline());
-                    jobMap.put("type", "job");
-                    return jobMap;
-                })
+                .map(SearchService::toSearchResult)
                 .collect(Collectors.toList());
     }
 
@@ -192,7 +160,48 @@ public class SearchService {
         return rankedResponse;
     }
 
-    private double calculateRelevanceScore(String query, Map<String, Object> item) {
+    // Package-private and static so the benchmarks module can call them directly
+    static Map<String, Object> toSearchResult(Candidate candidate) {
+        Map<String, Object> candidateMap = new HashMap<>();
+        candidateMap.put("id", candidate.getId());
+        candidateMap.put("name", candidate.getFullName());
+        candidateMap.put("email", candidate.getEmail());
+        candidateMap.put("phone", candidate.getPhone());
+        candidateMap.put("location", candidate.getLocation());
+        candidateMap.put("currentJobTitle", candidate.getCurrentJobTitle());
+        candidateMap.put("experienceYears", candidate.getExperienceYears());
+        candidateMap.put("skills", candidate.getSkills());
+        candidateMap.put("type", "candidate");
+        return candidateMap;
+    }
+
+    static Map<String, Object> toSearchResult(Company company) {
+        Map<String, Object> companyMap = new HashMap<>();
+        companyMap.put("id", company.getId());
+        companyMap.put("name", company.getName());
+        companyMap.put("industry", company.getIndustry());
+        companyMap.put("location", company.getLocation());
+        companyMap.put("website", company.getWebsite());
+        companyMap.put("description", company.getDescription());
+        companyMap.put("type", "company");
+        return companyMap;
+    }
+
+    static Map<String, Object> toSearchResult(Job job) {
+        Map<String, Object> jobMap = new HashMap<>();
+        jobMap.put("id", job.getId());
+        jobMap.put("title", job.getTitle());
+        jobMap.put("companyName", job.getCompany().getName());
+        jobMap.put("location", job.getLocation());
+        jobMap.put("jobType", job.getJobType());
+        jobMap.put("status", job.getStatus());
+        jobMap.put("priority", job.getPriority());
+        jobMap.put("deadline", job.getDeadline());
+        jobMap.put("type", "job");
+        return jobMap;
+    }
+
+    static double calculateRelevanceScore(String query, Map<String, Object> item) {
         if (query == null || query.trim().isEmpty()) {
             return 1.0;
         }
@@ -226,7 +235,7 @@ public class SearchService {
         return score;
     }
 
-    private double checkFieldMatch(String query, String field, double weight) {
+    static double checkFieldMatch(String query, String field, double weight) {
         if (field == null) return 0.0;
 
         String lowerField = field.toLowerCase();
@@ -2,6 +2,8 @@ package com.ats.service;
 
 import com.ats.entity.User;
 import com.ats.repository.UserRepository;
+import com.ats.security.PrincipalCache;
+import com.ats.security.TokenVersionRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -19,6 +21,15 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -46,23 +57,64 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
 
+        boolean revokeTokens = user.getRole() != userDetails.getRole();
+
+        // Tokens and cached principals are keyed by username, so a rename revokes the former
+        String previousUsername = user.getUsername();
+        String username = userDetails.getUsername();
+        if (username != null && !username.isBlank() && !username.equals(previousUsername)) {
+            if (userRepository.existsByUsername(username)) {
+                throw new RuntimeException("Username is already taken: " + username);
+            }
+            user.setUsername(username);
+            revokeTokens = true;
+        }
+
         user.setFirstName(userDetails.getFirstName());
         user.setLastName(userDetails.getLastName());
         user.setEmail(userDetails.getEmail());
         user.setRole(userDetails.getRole());
         user.setUpdatedAt(LocalDateTime.now());
 
-        if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
+        boolean passwordChanged = userDetails.getPassword() != null && !userDetails.getPassword().isEmpty();
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
+            revokeTokens = true;
         }
 
-        return userRepository.save(user);
+        // Tokens carry the role, so they must not outlive a role, password or username change
+        if (revokeTokens) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
+
+        User savedUser = userRepository.save(user);
+        principalCache.evict(previousUsername);
+        principalCache.evict(savedUser.getUsername());
+        tokenVersionRegistry.update(savedUser.getId(), savedUser.getTokenVersion());
+        if (passwordChanged) {
+            refreshTokenService.revokeAllForUser(savedUser.getId());
+        }
+        return savedUser;
+    }
+
+    /**
+     * Invalidates every access and refresh token issued to the user so far.
+     */
+    public void revokeTokens(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        User savedUser = userRepository.save(user);
+        tokenVersionRegistry.update(savedUser.getId(), savedUser.getTokenVersion());
+        refreshTokenService.revokeAllForUser(savedUser.getId());
     }
 
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         userRepository.delete(user);
+        principalCache.evict(user.getUsername());
+        tokenVersionRegistry.revokeAll(user.getId());
     }
 
     public boolean existsByUsername(String username) {
@@ -0,0 +1,70 @@
+package com.ats.config;
+
+import com.ats.entity.Company;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.repository.Repository;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringJUnitConfig
+class MethodMetricsAspectTest {
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @Import(MethodMetricsAspect.class)
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CompanyLookup companyLookup() {
+            return new CompanyLookup();
+        }
+    }
+
+    static class CompanyLookup implements Repository<Company, Long> {
+
+        public String findName(boolean fail) {
+            if (fail) {
+                throw new IllegalStateException("lookup failed");
+            }
+            return "Acme";
+        }
+    }
+
+    @Autowired
+    private CompanyLookup lookup;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void recordsEveryCallOnOneTimerPerMethodAndOutcome() {
+        lookup.findName(false);
+        lookup.findName(false);
+        assertThatThrownBy(() -> lookup.findName(true)).isInstanceOf(IllegalStateException.class);
+
+        Timer returned = meterRegistry.get("ats.repository.query")
+                .tags("repository", "CompanyLookup", "entity", "Company", "method", "findName", "exception", "none")
+                .timer();
+        Timer thrown = meterRegistry.get("ats.repository.query")
+                .tags("method", "findName", "exception", "IllegalStateException")
+                .timer();
+        assertThat(returned.count()).isEqualTo(2);
+        assertThat(thrown.count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ats.repository.query").timers()).hasSize(2);
+    }
+}
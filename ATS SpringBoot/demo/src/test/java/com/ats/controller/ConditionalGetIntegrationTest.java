@@ -0,0 +1,71 @@
+package com.ats.controller;
+
+import com.ats.service.JobService;
+import com.ats.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ConditionalGetIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private JobService jobService;
+
+    @Test
+    void listAnswersMatchingIfNoneMatchWithNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/companies").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/companies").param("fields", "name").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void errorResponsesCarryNoEtag() throws Exception {
+        mockMvc.perform(get("/api/companies").param("fields", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void detailAnswersKnownVersionWithoutLoadingTheJob() throws Exception {
+        Long companyId = jdbcTemplate.queryForObject(
+                "INSERT INTO companies (name) VALUES (?) RETURNING id", Long.class, "ETag " + UUID.randomUUID());
+        Long jobId = jdbcTemplate.queryForObject(
+                "INSERT INTO jobs (title, description, company_id) VALUES ('Tester', 'Tests', ?) RETURNING id",
+                Long.class, companyId);
+
+        mockMvc.perform(get("/api/jobs/{id}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        mockMvc.perform(get("/api/jobs/{id}", jobId).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        verify(jobService, times(1)).getJobById(jobId);
+    }
+}
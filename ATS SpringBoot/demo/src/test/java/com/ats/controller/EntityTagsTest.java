@@ -0,0 +1,27 @@
+package com.ats.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityTagsTest {
+
+    @Test
+    void parsesStrongIfMatchTag() {
+        assertThat(EntityTags.parseIfMatch("\"7\"")).containsExactly(7L);
+        assertThat(EntityTags.parseIfMatch(null)).isNull();
+        assertThat(EntityTags.parseIfMatch("*")).isNull();
+    }
+
+    @Test
+    void parsesEveryTagInAnIfMatchList() {
+        assertThat(EntityTags.parseIfMatch("\"1\", \"2\",\"3\"")).containsExactly(1L, 2L, 3L);
+        assertThat(EntityTags.parseIfMatch("W/\"4\", \"5\", \"abc\"")).containsExactly(5L);
+    }
+
+    @Test
+    void weakIfMatchTagNeverMatches() {
+        assertThat(EntityTags.parseIfMatch("W/\"7\"")).isEmpty();
+        assertThat(EntityTags.parseIfMatch("7")).isEmpty();
+    }
+}
@@ -0,0 +1,99 @@
+package com.ats.controller;
+
+import com.ats.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class SparseFieldsetIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long applicationId;
+    private String companyName;
+
+    @BeforeEach
+    void createApplication() {
+        String suffix = UUID.randomUUID().toString();
+        Long candidateId = jdbcTemplate.queryForObject(
+                "INSERT INTO candidates (first_name, last_name, email) VALUES ('Grace', 'Hopper', ?) RETURNING id",
+                Long.class, suffix + "@example.com");
+        companyName = "Fields " + suffix;
+        Long companyId = jdbcTemplate.queryForObject(
+                "INSERT INTO companies (name) VALUES (?) RETURNING id", Long.class, companyName);
+        Long jobId = jdbcTemplate.queryForObject(
+                "INSERT INTO jobs (title, description, company_id) VALUES ('Compiler Engineer', 'Compilers', ?) RETURNING id",
+                Long.class, companyId);
+        applicationId = jdbcTemplate.queryForObject(
+                "INSERT INTO applications (candidate_id, job_id, status, rating) VALUES (?, ?, 'SCREENING', 4) RETURNING id",
+                Long.class, candidateId, jobId);
+    }
+
+    @Test
+    void selectsOnlyRequestedFieldsIncludingJoinedOnes() throws Exception {
+        String row = "$.applications[?(@.id == " + applicationId + ")]";
+
+        mockMvc.perform(get("/api/applications")
+                        .param("fields", "candidateName,companyName,status")
+                        .param("sortBy", "id").param("sortDir", "desc").param("size", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(row + ".candidateName").value("Grace Hopper"))
+                .andExpect(jsonPath(row + ".companyName").value(companyName))
+                .andExpect(jsonPath(row + ".status").value("SCREENING"))
+                .andExpect(jsonPath("$.applications[0]", not(hasKey("rating"))))
+                .andExpect(jsonPath("$.applications[0]", not(hasKey("candidate"))));
+    }
+
+    @Test
+    void unknownFieldIsRejectedWithBadRequest() throws Exception {
+        mockMvc.perform(get("/api/applications").param("fields", "status,salary"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(containsString("Unknown field 'salary'")));
+    }
+
+    @Test
+    void sortingByAPathOutsideTheFieldsIsRejectedWithBadRequest() throws Exception {
+        mockMvc.perform(get("/api/applications").param("fields", "status").param("sortBy", "notes.content"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(containsString("Cannot sort applications by 'notes.content'")));
+        mockMvc.perform(get("/api/jobs").param("fields", "title").param("sortBy", "assignedRecruiter.password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void pagesFollowRequestedSort() throws Exception {
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM companies ORDER BY id LIMIT 2 OFFSET 2", Long.class);
+        long total = jdbcTemplate.queryForObject("SELECT count(*) FROM companies", Long.class);
+
+        mockMvc.perform(get("/api/companies")
+                        .param("fields", "name")
+                        .param("sortBy", "id").param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.companies.length()").value(expected.size()))
+                .andExpect(jsonPath("$.companies[0].id").value(expected.get(0)))
+                .andExpect(jsonPath("$.companies[0]", hasKey("name")))
+                .andExpect(jsonPath("$.currentPage").value(1))
+                .andExpect(jsonPath("$.totalItems").value(total));
+    }
+}
@@ -0,0 +1,59 @@
+package com.ats.scheduling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringJUnitConfig
+class ClusterJobAspectTest {
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    @Import({ClusterJobAspect.class, JobCoordinator.class})
+    static class Config {
+
+        @Bean
+        ShardedJob shardedJob() {
+            return new ShardedJob();
+        }
+    }
+
+    static class ShardedJob {
+
+        private final List<JobShard> runs = new ArrayList<>();
+
+        @ClusterJob(value = "test-job", shards = 3)
+        public void run() {
+            runs.add(JobShard.current());
+        }
+
+        public List<JobShard> getRuns() {
+            return runs;
+        }
+    }
+
+    @MockitoBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardedJob job;
+
+    @Test
+    void runsOncePerShardWhenClusteringIsDisabled() {
+        job.run();
+
+        assertThat(job.getRuns()).containsExactly(new JobShard(0, 3), new JobShard(1, 3), new JobShard(2, 3));
+        assertThat(JobShard.current()).isEqualTo(JobShard.ALL);
+    }
+}
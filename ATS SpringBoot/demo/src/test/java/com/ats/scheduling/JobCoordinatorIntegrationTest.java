@@ -0,0 +1,115 @@
+package com.ats.scheduling;
+
+import com.ats.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobCoordinatorIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JobCoordinator first;
+    private JobCoordinator second;
+    private String jobName;
+
+    @BeforeEach
+    void startNodes() {
+        first = coordinator();
+        second = coordinator();
+        jobName = "test-job-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        first.releaseAll();
+        second.releaseAll();
+    }
+
+    private JobCoordinator coordinator() {
+        JobCoordinator coordinator = new JobCoordinator();
+        ReflectionTestUtils.setField(coordinator, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(coordinator, "enabled", true);
+        ReflectionTestUtils.setField(coordinator, "leaseSeconds", 30);
+        return coordinator;
+    }
+
+    private void expireLeasesOf(JobCoordinator coordinator) {
+        jdbcTemplate.update("UPDATE scheduled_job_leases SET lease_until = now() - interval '1 second' WHERE owner = ?",
+                coordinator.getNodeId());
+    }
+
+    @Test
+    void eachPartitionHasOneOwner() {
+        first.heartbeat();
+        second.heartbeat();
+
+        assertThat(first.isLeader(jobName)).isTrue();
+        assertThat(second.isLeader(jobName)).isFalse();
+        assertThat(first.isLeader(jobName)).isTrue();
+
+        String sharded = jobName + "-sharded";
+        List<Integer> firstShards = first.acquireShards(sharded, 4);
+        List<Integer> secondShards = second.acquireShards(sharded, 4);
+        Set<Integer> union = new HashSet<>(firstShards);
+        union.addAll(secondShards);
+        assertThat(firstShards).hasSize(2).doesNotContainAnyElementsOf(secondShards);
+        assertThat(union).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    @Test
+    void anotherNodeTakesOverAnExpiredLease() {
+        first.heartbeat();
+        second.heartbeat();
+        assertThat(first.isLeader(jobName)).isTrue();
+
+        expireLeasesOf(first);
+
+        assertThat(second.isLeader(jobName)).isTrue();
+        assertThat(first.isLeader(jobName)).isFalse();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT owner FROM scheduled_job_leases WHERE job_name = ? AND shard = 0", String.class, jobName))
+                .isEqualTo(second.getNodeId());
+    }
+
+    @Test
+    void heartbeatRenewsHeldLeases() {
+        first.heartbeat();
+        assertThat(first.isLeader(jobName)).isTrue();
+        jdbcTemplate.update("UPDATE scheduled_job_leases SET lease_until = now() + interval '1 second' WHERE owner = ?",
+                first.getNodeId());
+
+        first.heartbeat();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT lease_until > now() + interval '20 seconds' FROM scheduled_job_leases WHERE job_name = ?",
+                Boolean.class, jobName)).isTrue();
+    }
+
+    @Test
+    void surplusPartitionsAreHandedBackWhenANodeJoins() {
+        first.heartbeat();
+        assertThat(first.acquireShards(jobName, 4)).containsExactly(0, 1, 2, 3);
+
+        second.heartbeat();
+        // Everything is still leased to the first node until it hands the surplus back
+        assertThat(second.acquireShards(jobName, 4)).isEmpty();
+
+        List<Integer> kept = first.acquireShards(jobName, 4);
+        List<Integer> taken = second.acquireShards(jobName, 4);
+
+        assertThat(kept).hasSize(2);
+        assertThat(taken).hasSize(2).doesNotContainAnyElementsOf(kept);
+    }
+}
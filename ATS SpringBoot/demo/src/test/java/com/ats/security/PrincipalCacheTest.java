@@ -0,0 +1,41 @@
+package com.ats.security;
+
+import com.ats.service.InvalidationBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PrincipalCacheTest {
+
+    private final PrincipalCache cache = new PrincipalCache(mock(InvalidationBus.class), 100, 300);
+
+    private static UserDetails principal(String role) {
+        return new User("alice", "secret", List.of(() -> "ROLE_" + role));
+    }
+
+    @Test
+    void cachesLoadedPrincipal() {
+        UserDetails loaded = cache.get("alice", username -> principal("RECRUITER"));
+
+        assertThat(cache.get("alice", username -> principal("ADMIN"))).isSameAs(loaded);
+    }
+
+    @Test
+    void evictionDuringLoadIsNotUndone() {
+        cache.get("alice", username -> {
+            cache.evict(username);
+            return principal("RECRUITER");
+        });
+
+        assertThat(cache.getCache().getIfPresent("alice")).isNull();
+        assertThat(cache.get("alice", username -> principal("ADMIN")).getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+    }
+}
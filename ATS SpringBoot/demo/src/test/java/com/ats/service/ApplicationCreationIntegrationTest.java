@@ -0,0 +1,104 @@
+package com.ats.service;
+
+import com.ats.entity.Application;
+import com.ats.entity.Candidate;
+import com.ats.entity.Job;
+import com.ats.exception.DuplicateResourceException;
+import com.ats.exception.ResourceNotFoundException;
+import com.ats.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApplicationCreationIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long candidateId;
+    private Long jobId;
+
+    @BeforeEach
+    void createCandidateAndJob() {
+        String suffix = UUID.randomUUID().toString();
+        candidateId = jdbcTemplate.queryForObject(
+                "INSERT INTO candidates (first_name, last_name, email) VALUES ('Ada', 'Applicant', ?) RETURNING id",
+                Long.class, suffix + "@example.com");
+        Long companyId = jdbcTemplate.queryForObject(
+                "INSERT INTO companies (name) VALUES (?) RETURNING id", Long.class, "Company " + suffix);
+        jobId = jdbcTemplate.queryForObject(
+                "INSERT INTO jobs (title, description, company_id) VALUES ('Engineer', 'Builds things', ?) RETURNING id",
+                Long.class, companyId);
+    }
+
+    private static Application application(Long candidateId, Long jobId, String idempotencyKey) {
+        Candidate candidate = new Candidate();
+        candidate.setId(candidateId);
+        Job job = new Job();
+        job.setId(jobId);
+        Application application = new Application();
+        application.setCandidate(candidate);
+        application.setJob(job);
+        application.setIdempotencyKey(idempotencyKey);
+        return application;
+    }
+
+    @Test
+    void secondApplicationForSameCandidateAndJobIsRejectedAsDuplicate() {
+        applicationService.createApplication(application(candidateId, jobId, null));
+
+        assertThatThrownBy(() -> applicationService.createApplication(application(candidateId, jobId, null)))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("already exists");
+    }
+
+    @Test
+    void missingCandidateIsReportedAsNotFound() {
+        assertThatThrownBy(() -> applicationService.createApplication(application(Long.MAX_VALUE, jobId, null)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void concurrentRequestsWithSameIdempotencyKeyAllReturnTheOneApplication() throws Exception {
+        String key = UUID.randomUUID().toString();
+        int requests = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return applicationService.createApplication(application(candidateId, jobId, key)).getId();
+                }));
+            }
+            start.countDown();
+
+            List<Long> ids = new ArrayList<>();
+            for (Future<Long> result : results) {
+                ids.add(result.get());
+            }
+            assertThat(ids).hasSize(requests).containsOnly(ids.get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM applications WHERE candidate_id = ? AND job_id = ?", Long.class, candidateId, jobId))
+                .isEqualTo(1L);
+    }
+}
@@ -0,0 +1,158 @@
+package com.ats.service;
+
+import com.ats.entity.Application;
+import com.ats.entity.ApplicationNote;
+import com.ats.entity.Candidate;
+import com.ats.entity.Job;
+import com.ats.entity.TimelineEntry;
+import com.ats.support.OutboxRelayingIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class ApplicationTimelineIntegrationTest extends OutboxRelayingIntegrationTest {
+
+    @Autowired
+    private ApplicationTimelineService timelineService;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationNoteService applicationNoteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long candidateId;
+    private Long jobId;
+
+    @BeforeEach
+    void createUserCandidateAndJob() {
+        String suffix = UUID.randomUUID().toString();
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, first_name, last_name) " +
+                        "VALUES (?, ?, 'secret', 'Rita', 'Recruiter') RETURNING id",
+                Long.class, suffix.substring(0, 30), suffix + "@example.com");
+        candidateId = jdbcTemplate.queryForObject(
+                "INSERT INTO candidates (first_name, last_name, email) VALUES ('Ada', 'Applicant', ?) RETURNING id",
+                Long.class, "candidate-" + suffix + "@example.com");
+        Long companyId = jdbcTemplate.queryForObject(
+                "INSERT INTO companies (name) VALUES (?) RETURNING id", Long.class, "Company " + suffix);
+        jobId = jdbcTemplate.queryForObject(
+                "INSERT INTO jobs (title, description, company_id) VALUES ('Engineer', 'Builds things', ?) RETURNING id",
+                Long.class, companyId);
+    }
+
+    // Inserted behind Hibernate's back, so no outbox event and no timeline entries
+    private Long insertApplication(String status, LocalDateTime appliedAt) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO applications (candidate_id, job_id, status, applied_at) VALUES (?, ?, ?, ?) RETURNING id",
+                Long.class, candidateId, jobId, status, Timestamp.valueOf(appliedAt));
+    }
+
+    @Test
+    void committedChangesAreAppendedAndReplaceTheCachedFirstPage() {
+        Candidate candidate = new Candidate();
+        candidate.setId(candidateId);
+        Job job = new Job();
+        job.setId(jobId);
+        Application application = new Application();
+        application.setCandidate(candidate);
+        application.setJob(job);
+        Long applicationId = applicationService.createApplication(application).getId();
+
+        // Caches the first page before the note exists
+        assertThat(timelineService.getTimeline(applicationId, null, 10).entries())
+                .extracting(TimelineEntry::getEntryType)
+                .containsExactly(TimelineEntry.EntryType.APPLIED);
+
+        applicationNoteService.createNote(applicationId, userId, "Phone screen booked",
+                ApplicationNote.NoteType.CALL, null);
+        await().atMost(10, SECONDS).untilAsserted(() -> assertThat(
+                timelineService.getTimeline(applicationId, null, 10).entries())
+                .extracting(TimelineEntry::getEntryType)
+                .containsExactly(TimelineEntry.EntryType.NOTE, TimelineEntry.EntryType.APPLIED));
+
+        applicationService.updateApplicationStatus(applicationId, Application.ApplicationStatus.SCREENING);
+        await().atMost(10, SECONDS).untilAsserted(() -> {
+            List<TimelineEntry> entries = timelineService.getTimeline(applicationId, null, 10).entries();
+            assertThat(entries).first().satisfies(entry -> {
+                assertThat(entry.getEntryType()).isEqualTo(TimelineEntry.EntryType.STATUS_CHANGED);
+                assertThat(entry.getFromStatus()).isEqualTo("APPLIED");
+                assertThat(entry.getToStatus()).isEqualTo("SCREENING");
+            });
+            assertThat(entries).last().satisfies(entry ->
+                    assertThat(entry.getToStatus()).isEqualTo("APPLIED"));
+        });
+    }
+
+    @Test
+    void cursorPagingVisitsEveryEntryOnceNewestFirst() {
+        LocalDateTime appliedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusDays(3);
+        Long applicationId = insertApplication("APPLIED", appliedAt);
+        jdbcTemplate.update("INSERT INTO application_timeline (application_id, entry_type, source_id, occurred_at, to_status) " +
+                "VALUES (?, 'APPLIED', ?, ?, 'APPLIED')", applicationId, applicationId, Timestamp.valueOf(appliedAt));
+        // Pairs of entries share a timestamp, so page boundaries fall between ties
+        for (long source = 1; source <= 6; source++) {
+            jdbcTemplate.update("INSERT INTO application_timeline (application_id, entry_type, source_id, occurred_at, content) " +
+                            "VALUES (?, 'NOTE', ?, ?, ?)", applicationId, source,
+                    Timestamp.valueOf(appliedAt.plusHours((source + 1) / 2)), "Note " + source);
+        }
+        List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM application_timeline WHERE application_id = ? " +
+                "ORDER BY occurred_at DESC, id DESC", Long.class, applicationId);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ApplicationTimelineService.Page page = timelineService.getTimeline(applicationId, cursor, 3);
+            page.entries().forEach(entry -> seen.add(entry.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(3);
+        assertThatThrownBy(() -> timelineService.getTimeline(applicationId, "not-a-cursor", 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void backfillRecordsTheApplicationAsAppliedWhateverItsStatusNow() {
+        LocalDateTime appliedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusDays(10);
+        Long applicationId = insertApplication("INTERVIEWING", appliedAt);
+        for (int day = 1; day <= 2; day++) {
+            jdbcTemplate.update("INSERT INTO application_notes (application_id, created_by_id, content, note_type, created_at) " +
+                    "VALUES (?, ?, ?, 'GENERAL', ?)", applicationId, userId, "Day " + day, Timestamp.valueOf(appliedAt.plusDays(day)));
+        }
+
+        List<TimelineEntry> entries = timelineService.getTimeline(applicationId, null, 10).entries();
+
+        assertThat(entries).extracting(TimelineEntry::getEntryType).containsExactly(
+                TimelineEntry.EntryType.NOTE, TimelineEntry.EntryType.NOTE, TimelineEntry.EntryType.APPLIED);
+        assertThat(entries).extracting(TimelineEntry::getContent).containsExactly("Day 2", "Day 1", null);
+        TimelineEntry applied = entries.get(2);
+        assertThat(applied.getToStatus()).isEqualTo("APPLIED");
+        assertThat(applied.getOccurredAt()).isEqualTo(appliedAt);
+
+        // Larger than the cached page, so this goes back to the database without backfilling again
+        assertThat(timelineService.getTimeline(applicationId, null, 100).entries()).hasSize(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM application_timeline WHERE application_id = ?",
+                Long.class, applicationId)).isEqualTo(3L);
+    }
+}
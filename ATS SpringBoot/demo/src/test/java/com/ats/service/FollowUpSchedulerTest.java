@@ -0,0 +1,149 @@
+package com.ats.service;
+
+import com.ats.entity.Application;
+import com.ats.repository.ApplicationNoteRepository;
+import com.ats.repository.ApplicationRepository;
+import com.ats.scheduling.JobCoordinator;
+import com.ats.service.FollowUpScheduler.FollowUp;
+import com.ats.service.FollowUpScheduler.Source;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FollowUpSchedulerTest {
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private ApplicationNoteRepository applicationNoteRepository;
+
+    @Mock
+    private ChangeTracker changeTracker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JobCoordinator jobCoordinator;
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
+    @InjectMocks
+    private FollowUpScheduler scheduler;
+
+    private BiConsumer<ChangeTracker.Change, Object> applicationCommits;
+    private Consumer<InvalidationBus.EntityChange> remoteApplicationChanges;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void registerListeners() {
+        scheduler.registerListeners();
+
+        ArgumentCaptor<BiConsumer<ChangeTracker.Change, Object>> commits = ArgumentCaptor.forClass(BiConsumer.class);
+        verify(changeTracker).addListener(eq("Application"), commits.capture());
+        applicationCommits = commits.getValue();
+
+        ArgumentCaptor<Consumer<InvalidationBus.EntityChange>> remote = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(eq("Application"), remote.capture());
+        remoteApplicationChanges = remote.getValue();
+    }
+
+    private void commit(Long id, LocalDateTime followUpDate) {
+        Application application = new Application();
+        application.setId(id);
+        application.setFollowUpDate(followUpDate);
+        application.setStatus(Application.ApplicationStatus.SCREENING);
+        applicationCommits.accept(ChangeTracker.Change.UPDATE, application);
+    }
+
+    private List<Long> dueIds(LocalDateTime before) {
+        return scheduler.getDueBefore(Source.APPLICATION, before).stream().map(FollowUp::id).toList();
+    }
+
+    @Test
+    void returnsEntriesEarliestFirst() {
+        commit(1L, now.plusHours(3));
+        commit(2L, now.plusHours(1));
+        commit(3L, now.plusHours(2));
+        commit(2L, now.plusHours(4));
+
+        assertThat(dueIds(now.plusHours(5))).containsExactly(3L, 1L, 2L);
+        assertThat(scheduler.getDueBetween(Source.APPLICATION, now.plusHours(2), now.plusHours(4)))
+                .extracting(FollowUp::id).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void onlyTheLeaderDispatchesAndTheWatermarkNeverReplays() throws Exception {
+        commit(1L, now.minusHours(1));
+        commit(2L, LocalDateTime.now());
+        Thread.sleep(5);
+
+        when(jobCoordinator.isLeader(anyString())).thenReturn(false);
+        scheduler.dispatchDue();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        commit(3L, LocalDateTime.now());
+        Thread.sleep(5);
+        when(jobCoordinator.isLeader(anyString())).thenReturn(true);
+        scheduler.dispatchDue();
+
+        ArgumentCaptor<FollowUpDueEvent> published = ArgumentCaptor.forClass(FollowUpDueEvent.class);
+        verify(eventPublisher).publishEvent(published.capture());
+        assertThat(published.getValue().id()).isEqualTo(3L);
+
+        scheduler.dispatchDue();
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void reloadKeepsChangesCommittedWhileItReads() {
+        commit(1L, now.plusHours(1));
+        commit(2L, now.plusHours(2));
+        commit(3L, now.plusHours(3));
+
+        // The snapshot was read before 1 moved and 3 was cleared, and still has them as they were
+        when(applicationRepository.findFollowUpSchedule(Application.ApplicationStatus.REJECTED)).thenAnswer(invocation -> {
+            commit(1L, now.plusHours(10));
+            commit(3L, null);
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{1L, now.plusHours(1)});
+            rows.add(new Object[]{3L, now.plusHours(3)});
+            rows.add(new Object[]{4L, now.plusHours(4)});
+            return rows;
+        });
+        remoteApplicationChanges.accept(
+                new InvalidationBus.EntityChange(ChangeTracker.Change.UPDATE, "Application", null, "-"));
+
+        assertThat(dueIds(now.plusHours(24))).containsExactly(4L, 1L);
+        assertThat(scheduler.getDueBefore(Source.APPLICATION, now.plusHours(24)))
+                .filteredOn(followUp -> followUp.id().equals(1L))
+                .extracting(FollowUp::dueAt).containsExactly(now.plusHours(10));
+    }
+}
@@ -0,0 +1,188 @@
+package com.ats.service;
+
+import com.ats.entity.Company;
+import com.ats.entity.Job;
+import com.ats.repository.CompanyRepository;
+import com.ats.repository.JobRepository;
+import com.ats.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Two listeners on the channel: the application's bus, and a plain connection standing in
+ * for another node, which both watches what this node sends and sends changes of its own.
+ */
+@TestPropertySource(properties = "app.invalidation.enabled=true")
+class InvalidationBusIntegrationTest extends PostgresIntegrationTest {
+
+    private static final String JOBS_ROLE = Company.class.getName() + ".jobs";
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${app.invalidation.channel}")
+    private String channel;
+
+    private Connection otherNode;
+
+    @BeforeEach
+    void listenAsAnotherNode() throws Exception {
+        otherNode = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        try (Statement statement = otherNode.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+        // Notifications sent before the application's bus listens would be lost
+        await().atMost(10, SECONDS).until(() -> jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE query = ?", Long.class, "LISTEN " + channel) >= 2);
+    }
+
+    @AfterEach
+    void disconnect() throws Exception {
+        otherNode.close();
+    }
+
+    private List<String> receivedByOtherNode() throws Exception {
+        List<String> payloads = new ArrayList<>();
+        PGNotification[] notifications = otherNode.unwrap(PGConnection.class).getNotifications(500);
+        if (notifications != null) {
+            for (PGNotification notification : notifications) {
+                payloads.add(notification.getParameter());
+            }
+        }
+        return payloads;
+    }
+
+    private void sendFromOtherNode(String messages) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", String.class, channel, "other-node|" + messages);
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @Test
+    void announcesCommittedChangesOnly() throws Exception {
+        Company company = new Company();
+        company.setName("Bus " + UUID.randomUUID());
+        Long id = companyService.createCompany(company).getId();
+
+        List<String> received = new ArrayList<>();
+        await().atMost(5, SECONDS).untilAsserted(() -> {
+            received.addAll(receivedByOtherNode());
+            assertThat(received).anySatisfy(payload -> assertThat(payload).contains("I:Company:" + id + ":"));
+        });
+
+        String rolledBack = "Rolled back " + UUID.randomUUID();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Company discarded = new Company();
+            discarded.setName(rolledBack);
+            companyRepository.saveAndFlush(discarded);
+            status.setRollbackOnly();
+        });
+        assertThat(receivedByOtherNode()).noneMatch(payload -> payload.contains(":Company:"));
+    }
+
+    @Test
+    void remoteChangeEvictsOnlyWhatItCanHaveMadeStale() {
+        Long companyId = jdbcTemplate.queryForObject(
+                "INSERT INTO companies (name) VALUES (?) RETURNING id", Long.class, "Cached " + UUID.randomUUID());
+        Long jobId = jdbcTemplate.queryForObject(
+                "INSERT INTO jobs (title, description, company_id) VALUES ('Cached', 'Cached', ?) RETURNING id",
+                Long.class, companyId);
+        Long otherCompanyId = jdbcTemplate.queryForObject(
+                "INSERT INTO companies (name) VALUES (?) RETURNING id", Long.class, "Untouched " + UUID.randomUUID());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            companyRepository.findById(companyId).orElseThrow().getJobs().size();
+            companyRepository.findById(otherCompanyId).orElseThrow();
+            jobRepository.findById(jobId).orElseThrow();
+        });
+        assertThat(cache().containsEntity(Job.class, jobId)).isTrue();
+        assertThat(cache().containsCollection(JOBS_ROLE, companyId)).isTrue();
+
+        // Neither change touches the first company or its jobs
+        sendFromOtherNode("U:Candidate:" + Long.MAX_VALUE + ":1;U:Company:" + otherCompanyId + ":1");
+        await().atMost(5, SECONDS).until(() -> !cache().containsEntity(Company.class, otherCompanyId));
+        assertThat(cache().containsEntity(Company.class, companyId)).isTrue();
+        assertThat(cache().containsCollection(JOBS_ROLE, companyId)).isTrue();
+        assertThat(cache().containsEntity(Job.class, jobId)).isTrue();
+
+        // A job may sit in any company's cached job list, so that role goes with it
+        sendFromOtherNode("U:Job:" + jobId + ":1");
+        await().atMost(5, SECONDS).until(() -> !cache().containsEntity(Job.class, jobId));
+        assertThat(cache().containsCollection(JOBS_ROLE, companyId)).isFalse();
+        assertThat(cache().containsEntity(Company.class, companyId)).isTrue();
+
+        sendFromOtherNode("U:Company:" + companyId + ":1");
+        await().atMost(5, SECONDS).until(() -> !cache().containsEntity(Company.class, companyId));
+    }
+
+    @Test
+    void slowSubscriberDoesNotHoldUpOthers() {
+        String entityName = "Candidate";
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> received = new CopyOnWriteArrayList<>();
+        invalidationBus.subscribe(entityName, change -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        invalidationBus.subscribe(entityName, change -> received.add(change.id()));
+
+        try {
+            sendFromOtherNode("U:Candidate:41:1;U:Candidate:42:1");
+            await().atMost(5, SECONDS).untilAsserted(() -> assertThat(received).containsExactly(41L, 42L));
+        } finally {
+            release.countDown();
+        }
+    }
+}
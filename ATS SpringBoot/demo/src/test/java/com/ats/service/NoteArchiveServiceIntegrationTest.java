@@ -0,0 +1,110 @@
+package com.ats.service;
+
+import com.ats.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoteArchiveServiceIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private NoteArchiveService noteArchiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long candidateId;
+    private Long companyId;
+
+    @BeforeEach
+    void createUserAndCandidate() {
+        String suffix = UUID.randomUUID().toString();
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, first_name, last_name) " +
+                        "VALUES (?, ?, 'secret', 'Rita', 'Recruiter') RETURNING id",
+                Long.class, suffix.substring(0, 30), suffix + "@example.com");
+        candidateId = jdbcTemplate.queryForObject(
+                "INSERT INTO candidates (first_name, last_name, email) VALUES ('Ada', 'Applicant', ?) RETURNING id",
+                Long.class, "candidate-" + suffix + "@example.com");
+        companyId = jdbcTemplate.queryForObject(
+                "INSERT INTO companies (name) VALUES (?) RETURNING id", Long.class, "Company " + suffix);
+    }
+
+    @AfterEach
+    void switchJobsOff() {
+        ReflectionTestUtils.setField(noteArchiveService, "partitioningEnabled", false);
+        ReflectionTestUtils.setField(noteArchiveService, "archiveEnabled", false);
+    }
+
+    private Long insertApplication(String status) {
+        Long jobId = jdbcTemplate.queryForObject(
+                "INSERT INTO jobs (title, description, company_id) VALUES ('Engineer', 'Builds things', ?) RETURNING id",
+                Long.class, companyId);
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO applications (candidate_id, job_id, status) VALUES (?, ?, ?) RETURNING id",
+                Long.class, candidateId, jobId, status);
+    }
+
+    private Long insertNote(Long applicationId, LocalDateTime createdAt) {
+        return jdbcTemplate.queryForObject("INSERT INTO application_notes (application_id, created_by_id, content, created_at) " +
+                "VALUES (?, ?, 'Old note', ?) RETURNING id", Long.class, applicationId, userId, Timestamp.valueOf(createdAt));
+    }
+
+    private String partitionOf(Long noteId) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM application_notes WHERE id = ?",
+                String.class, noteId);
+    }
+
+    @Test
+    void ensurePartitionsSplitsMonthsOutOfTheDefaultPartition() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1).minusYears(3);
+        Long noteId = insertNote(insertApplication("APPLIED"), month.atStartOfDay().plusDays(14));
+        assertThat(partitionOf(noteId)).isEqualTo("application_notes_default");
+
+        ReflectionTestUtils.setField(noteArchiveService, "partitioningEnabled", true);
+        noteArchiveService.ensurePartitions();
+
+        String partition = String.format("application_notes_p%d_%02d", month.getYear(), month.getMonthValue());
+        assertThat(partitionOf(noteId)).isEqualTo(partition);
+        LocalDate current = LocalDate.now().withDayOfMonth(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                String.format("application_notes_p%d_%02d", current.getYear(), current.getMonthValue()))).isTrue();
+
+        // Nothing left to split, and existing partitions are kept
+        noteArchiveService.ensurePartitions();
+        assertThat(partitionOf(noteId)).isEqualTo(partition);
+    }
+
+    @Test
+    void archiveSkipsAnApplicationThatFailsAndArchivesTheRest() {
+        LocalDateTime longAgo = LocalDateTime.now().minusYears(2);
+        Long broken = insertApplication("REJECTED");
+        insertNote(broken, longAgo);
+        // An unreadable earlier archive makes this application fail
+        jdbcTemplate.update("INSERT INTO application_note_archives (application_id, note_count, payload) " +
+                "VALUES (?, 1, '\\x00'::bytea)", broken);
+        Long archivable = insertApplication("HIRED");
+        insertNote(archivable, longAgo);
+        insertNote(archivable, longAgo.plusDays(1));
+
+        ReflectionTestUtils.setField(noteArchiveService, "archiveEnabled", true);
+        noteArchiveService.archiveClosedApplicationNotes();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM application_notes WHERE application_id = ?",
+                Long.class, archivable)).isZero();
+        assertThat(noteArchiveService.getArchivedNotesCount(archivable)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM application_notes WHERE application_id = ?",
+                Long.class, broken)).isEqualTo(1L);
+    }
+}
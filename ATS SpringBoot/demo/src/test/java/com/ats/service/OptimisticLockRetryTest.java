@@ -0,0 +1,106 @@
+package com.ats.service;
+
+import com.ats.entity.Application;
+import com.ats.exception.ConflictingUpdateException;
+import com.ats.exception.VersionConflictException;
+import com.ats.service.OptimisticLockRetry.Field;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class OptimisticLockRetryTest {
+
+    private static final List<Field<Application>> FIELDS = List.of(
+            Field.of("status", Application::getStatus, Application::setStatus),
+            Field.of("rating", Application::getRating, Application::setRating));
+
+    private final OptimisticLockRetry retry = new OptimisticLockRetry(mock(PlatformTransactionManager.class));
+
+    /** A single versioned row; {@code concurrentWrite} lands right after the first read. */
+    private static class Row {
+
+        private Application stored = application(Application.ApplicationStatus.APPLIED, 3, 0L);
+        private Consumer<Application> concurrentWrite = application -> { };
+        private int reads;
+
+        Application load() {
+            Application copy = application(stored.getStatus(), stored.getRating(), stored.getVersion());
+            if (reads++ == 0) {
+                Application newer = application(stored.getStatus(), stored.getRating(), stored.getVersion());
+                concurrentWrite.accept(newer);
+                save(newer);
+            }
+            return copy;
+        }
+
+        Application save(Application application) {
+            if (!application.getVersion().equals(stored.getVersion())) {
+                throw new OptimisticLockingFailureException("stale version " + application.getVersion());
+            }
+            application.setVersion(application.getVersion() + 1);
+            stored = application;
+            return application;
+        }
+    }
+
+    private static Application application(Application.ApplicationStatus status, Integer rating, Long version) {
+        Application application = new Application();
+        application.setStatus(status);
+        application.setRating(rating);
+        application.setVersion(version);
+        return application;
+    }
+
+    @Test
+    void mergesDisjointConcurrentUpdates() {
+        Row row = new Row();
+        row.concurrentWrite = application -> application.setRating(5);
+
+        Application saved = retry.merge("Application", 1L, row::load, Application::getVersion, Set.of(0L),
+                application(Application.ApplicationStatus.INTERVIEWING, 3, null), FIELDS, row::save);
+
+        assertThat(saved.getStatus()).isEqualTo(Application.ApplicationStatus.INTERVIEWING);
+        assertThat(saved.getRating()).isEqualTo(5);
+        assertThat(row.reads).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsOverlappingConcurrentUpdates() {
+        Row row = new Row();
+        row.concurrentWrite = application -> application.setStatus(Application.ApplicationStatus.REJECTED);
+
+        assertThatThrownBy(() -> retry.merge("Application", 1L, row::load, Application::getVersion, null,
+                application(Application.ApplicationStatus.INTERVIEWING, 3, null), FIELDS, row::save))
+                .isInstanceOf(ConflictingUpdateException.class)
+                .extracting(e -> ((ConflictingUpdateException) e).getFields())
+                .isEqualTo(List.of("status"));
+        assertThat(row.stored.getStatus()).isEqualTo(Application.ApplicationStatus.REJECTED);
+    }
+
+    @Test
+    void rejectsStaleIfMatchOnFirstRead() {
+        Row row = new Row();
+
+        assertThatThrownBy(() -> retry.merge("Application", 1L, row::load, Application::getVersion, Set.of(7L),
+                application(Application.ApplicationStatus.INTERVIEWING, 3, null), FIELDS, row::save))
+                .isInstanceOf(VersionConflictException.class);
+    }
+
+    @Test
+    void acceptsIfMatchListingTheCurrentVersion() {
+        Row row = new Row();
+
+        Application saved = retry.merge("Application", 1L, row::load, Application::getVersion, Set.of(7L, 0L),
+                application(Application.ApplicationStatus.INTERVIEWING, 3, null), FIELDS, row::save);
+
+        assertThat(saved.getStatus()).isEqualTo(Application.ApplicationStatus.INTERVIEWING);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ats.service;
+
+import com.ats.entity.Company;
+import com.ats.support.OutboxRelayingIntegrationTest;
+import com.ats.support.RecordingEventListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+class OutboxRelayIntegrationTest extends OutboxRelayingIntegrationTest {
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private RecordingEventListener listener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void committedChangeReachesDomainEventListeners() {
+        Company company = new Company();
+        company.setName("Outbox Relay Test Co");
+        Long id = companyService.createCompany(company).getId();
+
+        await().atMost(10, SECONDS).untilAsserted(() -> assertThat(listener.getEvents())
+                .anySatisfy(event -> {
+                    assertThat(event.aggregateType()).isEqualTo("Company");
+                    assertThat(event.aggregateId()).isEqualTo(id);
+                    assertThat(event.eventType()).isEqualTo(DomainEvent.CREATED);
+                }));
+        await().atMost(10, SECONDS).untilAsserted(() -> assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM outbox_events WHERE aggregate_type = 'Company' AND aggregate_id = ? " +
+                        "AND published_at IS NULL", Long.class, id)).isZero());
+    }
+}
@@ -0,0 +1,56 @@
+package com.ats.service;
+
+import com.ats.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenServiceIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        String username = "rt-" + UUID.randomUUID().toString().substring(0, 8);
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, first_name, last_name) " +
+                        "VALUES (?, ?, 'x', 'Refresh', 'Token') RETURNING id",
+                Long.class, username, username + "@example.com");
+    }
+
+    @Test
+    void rotationIssuesNextTokenInFamily() {
+        String issued = refreshTokenService.issue(userId);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(issued);
+
+        assertThat(rotation.userId()).isEqualTo(userId);
+        assertThat(rotation.refreshToken()).isNotEqualTo(issued);
+        assertThat(refreshTokenService.rotate(rotation.refreshToken()).userId()).isEqualTo(userId);
+    }
+
+    @Test
+    void reusingRotatedTokenRevokesFamily() {
+        String issued = refreshTokenService.issue(userId);
+        String next = refreshTokenService.rotate(issued).refreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(issued)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate(next)).isInstanceOf(BadCredentialsException.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM refresh_tokens WHERE user_id = ? AND revoked_at IS NULL", Long.class, userId))
+                .isZero();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ats.service;
+
+import com.ats.entity.User;
+import com.ats.security.PrincipalCache;
+import com.ats.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserServiceIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private String username;
+
+    @BeforeEach
+    void createUser() {
+        username = "us-" + UUID.randomUUID().toString().substring(0, 8);
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, first_name, last_name) " +
+                        "VALUES (?, ?, 'x', 'Rita', 'Recruiter') RETURNING id",
+                Long.class, username, username + "@example.com");
+    }
+
+    private User details(String newUsername) {
+        User user = userService.getUserById(userId).orElseThrow();
+        user.setUsername(newUsername);
+        user.setPassword(null);
+        return user;
+    }
+
+    @Test
+    void renameEvictsTheOldAndTheNewUsername() {
+        String renamed = "us-" + UUID.randomUUID().toString().substring(0, 8);
+        principalCache.get(username, userDetailsService::loadUserByUsername);
+        // Left behind by an earlier holder of the new name
+        principalCache.get(renamed, name -> new org.springframework.security.core.userdetails.User(
+                name, "x", List.of(() -> "ROLE_ADMIN")));
+        int tokenVersion = userService.getUserById(userId).orElseThrow().getTokenVersion();
+
+        User saved = userService.updateUser(userId, details(renamed));
+
+        assertThat(saved.getUsername()).isEqualTo(renamed);
+        assertThat(saved.getTokenVersion()).isEqualTo(tokenVersion + 1);
+        assertThat(principalCache.getCache().getIfPresent(username)).isNull();
+        assertThat(principalCache.getCache().getIfPresent(renamed)).isNull();
+    }
+
+    @Test
+    void renameToATakenUsernameIsRejected() {
+        String taken = "us-" + UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO users (username, email, password, first_name, last_name) " +
+                "VALUES (?, ?, 'x', 'Tom', 'Taken')", taken, taken + "@example.com");
+
+        assertThatThrownBy(() -> userService.updateUser(userId, details(taken)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining(taken);
+        assertThat(userService.getUserById(userId).orElseThrow().getUsername()).isEqualTo(username);
+    }
+}
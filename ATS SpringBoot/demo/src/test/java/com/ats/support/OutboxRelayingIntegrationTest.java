@@ -0,0 +1,16 @@
+package com.ats.support;
+
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Base class for tests that need committed changes relayed from the outbox as
+ * {@code DomainEvent}s. The relay is off in the test profile because Spring keeps every
+ * test context alive and they all share one database, so several relays would race for
+ * the same events. Subclasses share this one configuration, and with it a single context
+ * that relays; {@link RecordingEventListener} records what it delivers.
+ */
+@TestPropertySource(properties = "app.outbox.enabled=true")
+@Import(RecordingEventListener.class)
+public abstract class OutboxRelayingIntegrationTest extends PostgresIntegrationTest {
+}
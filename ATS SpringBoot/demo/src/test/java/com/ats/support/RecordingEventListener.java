@@ -0,0 +1,24 @@
+package com.ats.support;
+
+import com.ats.service.DomainEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps every {@link DomainEvent} the relay delivers, for assertions.
+ */
+public class RecordingEventListener {
+
+    private final List<DomainEvent> events = new CopyOnWriteArrayList<>();
+
+    @EventListener
+    public void on(DomainEvent event) {
+        events.add(event);
+    }
+
+    public List<DomainEvent> getEvents() {
+        return events;
+    }
+}